@@ -0,0 +1,66 @@
+package com.commit.commit.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.commit.commit.CommitApplication;
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.entity.Space;
+import com.commit.commit.entity.User;
+import com.commit.commit.entity.UserSpace;
+import com.commit.commit.repository.UserRepository;
+import com.commit.commit.repository.UserSpaceRepository;
+
+/**
+ * Boots the application against a fresh in-memory H2 database in PostgreSQL mode, with
+ * Firebase replaced by the "loadtest" profile's LocalTokenVerifier, and offers small seeding helpers.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        return start(WebApplicationType.NONE, extraArgs);
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webType, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(CommitApplication.class)
+            .web(webType)
+            .profiles("loadtest")
+            .run(args.toArray(String[]::new));
+    }
+
+    public static User createUser(ConfigurableApplicationContext context, String name) {
+        User user = new User();
+        user.setFirebaseUid(name + "-" + UUID.randomUUID());
+        user.setName(name);
+        user.setEmail(user.getFirebaseUid() + "@bench.local");
+        user.setCreatedAt(OffsetDateTime.now());
+        return context.getBean(UserRepository.class).save(user);
+    }
+
+    public static void addMember(ConfigurableApplicationContext context, User user, Space space) {
+        UserSpace membership = new UserSpace();
+        membership.setUser(user);
+        membership.setSpace(space);
+        membership.setStatus(MembershipStatus.APPROVED);
+        membership.setJoinedAt(OffsetDateTime.now());
+        context.getBean(UserSpaceRepository.class).save(membership);
+    }
+}
@@ -0,0 +1,114 @@
+package com.commit.commit.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.commit.commit.dto.CommitmentPageResponse;
+import com.commit.commit.dto.CommitmentResponse;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.entity.Space;
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.SpaceRepository;
+import com.commit.commit.service.CommitmentService;
+import com.commit.commit.service.SpaceService;
+
+/**
+ * Commitment read mapping (toResponse via getCommitmentById, the pre-encoded LOCKED read and
+ * the paged listing) and the review -> approve -> reject cycle, over a space seeded with
+ * configurable sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommitmentServiceBenchmark {
+
+    @Param({"5", "50"})
+    public int approvers;
+
+    @Param({"100", "1000"})
+    public int commitments;
+
+    private ConfigurableApplicationContext context;
+    private CommitmentService commitmentService;
+    private Long creatorId;
+    private Long rejecterId;
+    private Long spaceId;
+    private Long readCommitmentId;
+    private Long cycleCommitmentId;
+    private Long lockedCommitmentId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        commitmentService = context.getBean(CommitmentService.class);
+
+        User creator = BenchmarkContext.createUser(context, "creator");
+        creatorId = creator.getId();
+        spaceId = context.getBean(SpaceService.class).createSpace(creatorId, new CreateSpaceRequest("Bench", null)).id();
+        Space space = context.getBean(SpaceRepository.class).findById(spaceId).orElseThrow();
+
+        List<Long> approverIds = new ArrayList<>();
+        for (int i = 0; i < approvers - 1; i++) {
+            User approver = BenchmarkContext.createUser(context, "approver" + i);
+            BenchmarkContext.addMember(context, approver, space);
+            approverIds.add(approver.getId());
+        }
+        rejecterId = approverIds.isEmpty() ? creatorId : approverIds.get(0);
+
+        CreateCommitmentRequest request = new CreateCommitmentRequest(
+            "Benchmark commitment", "Seeded for benchmarks", LocalDate.now().plusDays(30), approverIds);
+        for (int i = 0; i < commitments; i++) {
+            readCommitmentId = commitmentService.createCommitment(creatorId, spaceId, request).id();
+        }
+        cycleCommitmentId = commitmentService.createCommitment(creatorId, spaceId, request).id();
+
+        lockedCommitmentId = commitmentService.createCommitment(creatorId, spaceId, request).id();
+        commitmentService.sendForReview(creatorId, lockedCommitmentId);
+        commitmentService.approve(creatorId, lockedCommitmentId);
+        for (Long approverId : approverIds) {
+            commitmentService.approve(approverId, lockedCommitmentId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CommitmentResponse getCommitmentById() {
+        return commitmentService.getCommitmentById(creatorId, readCommitmentId, null).body();
+    }
+
+    @Benchmark
+    public byte[] getLockedCommitmentCached() {
+        return commitmentService.getCachedCommitment(creatorId, lockedCommitmentId, null).orElseThrow().json();
+    }
+
+    @Benchmark
+    public CommitmentPageResponse listFirstPage() {
+        return commitmentService.getSpaceCommitments(creatorId, spaceId, null, 50, null, null, null);
+    }
+
+    @Benchmark
+    public CommitmentResponse reviewApproveRejectCycle() {
+        commitmentService.sendForReview(creatorId, cycleCommitmentId);
+        commitmentService.approve(creatorId, cycleCommitmentId);
+        return commitmentService.reject(rejecterId, cycleCommitmentId);
+    }
+}
@@ -0,0 +1,80 @@
+package com.commit.commit.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.UserResponse;
+import com.commit.commit.entity.Space;
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.SpaceRepository;
+import com.commit.commit.service.SpaceService;
+
+/**
+ * SpaceService.searchSpaceMembers against a warm member index, for prefix, infix and
+ * single-character queries over a space with a configurable number of members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemberSearchBenchmark {
+
+    private static final String[] FIRST = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi", "ivan", "judy"};
+    private static final String[] LAST = {"smith", "jones", "brown", "garcia", "miller", "davis", "lopez", "wilson", "moore", "clark"};
+
+    @Param({"1000", "20000"})
+    public int members;
+
+    private ConfigurableApplicationContext context;
+    private SpaceService spaceService;
+    private Long userId;
+    private Long spaceId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        spaceService = context.getBean(SpaceService.class);
+
+        User owner = BenchmarkContext.createUser(context, "owner");
+        userId = owner.getId();
+        spaceId = spaceService.createSpace(userId, new CreateSpaceRequest("Search", null)).id();
+        Space space = context.getBean(SpaceRepository.class).findById(spaceId).orElseThrow();
+        for (int i = 0; i < members; i++) {
+            String name = FIRST[i % FIRST.length] + " " + LAST[(i / FIRST.length) % LAST.length] + i;
+            BenchmarkContext.addMember(context, BenchmarkContext.createUser(context, name), space);
+        }
+        spaceService.searchSpaceMembers(userId, spaceId, "warm", 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponse> prefix() {
+        return spaceService.searchSpaceMembers(userId, spaceId, "gra", 20);
+    }
+
+    @Benchmark
+    public List<UserResponse> infix() {
+        return spaceService.searchSpaceMembers(userId, spaceId, "arcia12", 20);
+    }
+
+    @Benchmark
+    public List<UserResponse> singleCharacter() {
+        return spaceService.searchSpaceMembers(userId, spaceId, "m", 20);
+    }
+}
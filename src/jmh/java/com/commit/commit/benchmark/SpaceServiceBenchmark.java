@@ -0,0 +1,59 @@
+package com.commit.commit.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.User;
+import com.commit.commit.service.SpaceService;
+
+/**
+ * SpaceService.getUserSpaces for a user who belongs to a configurable number of spaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpaceServiceBenchmark {
+
+    @Param({"10", "100"})
+    public int spaces;
+
+    private ConfigurableApplicationContext context;
+    private SpaceService spaceService;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        spaceService = context.getBean(SpaceService.class);
+
+        User user = BenchmarkContext.createUser(context, "member");
+        userId = user.getId();
+        for (int i = 0; i < spaces; i++) {
+            spaceService.createSpace(userId, new CreateSpaceRequest("Space " + i, null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SpaceResponse> getUserSpaces() {
+        return spaceService.getUserSpaces(userId);
+    }
+}
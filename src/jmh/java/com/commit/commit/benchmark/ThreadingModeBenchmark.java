@@ -0,0 +1,112 @@
+package com.commit.commit.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.entity.User;
+import com.commit.commit.service.SpaceService;
+
+/**
+ * Bursts of concurrent HTTP requests against the running app with Tomcat on platform threads
+ * versus virtual threads. The virtual variant needs a Java 21 runtime:
+ * mvn -Pbenchmark,jdk21 test-compile exec:exec -Djmh.args="ThreadingModeBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ThreadingModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime");
+        }
+        // Admission off: with it, most of a 1000-request burst is turned away with 503 at once,
+        // and the benchmark would time rejections rather than the Tomcat threading model
+        context = BenchmarkContext.start(WebApplicationType.SERVLET,
+            "--server.port=0",
+            "--management.server.port=0",
+            "--spring.threads.virtual.enabled=" + virtual,
+            "--spring.datasource.hikari.maximum-pool-size=20",
+            "--admission.enabled=false");
+
+        User user = BenchmarkContext.createUser(context, "bench-user");
+        for (int i = 0; i < 10; i++) {
+            context.getBean(SpaceService.class).createSpace(user.getId(), new CreateSpaceRequest("Space " + i, null));
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        clientExecutor = Executors.newFixedThreadPool(64);
+        client = HttpClient.newBuilder().executor(clientExecutor).connectTimeout(Duration.ofSeconds(10)).build();
+        // LocalTokenVerifier maps loadtest:<uid> to the seeded user's firebase uid
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/spaces"))
+            .header("Authorization", "Bearer loadtest:" + user.getFirebaseUid())
+            .timeout(Duration.ofSeconds(60))
+            .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    // Fails the iteration on any non-200, so errors are never timed as successful work
+    @Benchmark
+    public int burst() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<HttpResponse<Void>>[] responses = new CompletableFuture[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+
+        int failed = 0;
+        int lastStatus = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status != 200) {
+                failed++;
+                lastStatus = status;
+            }
+        }
+        if (failed > 0) {
+            throw new IllegalStateException(failed + " of " + concurrency + " requests failed (last status " + lastStatus + ")");
+        }
+        return responses.length;
+    }
+}
@@ -0,0 +1,199 @@
+package com.commit.commit.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Drives a mix of create/review/approve/list traffic against a running instance started with
+ * the "loadtest" Spring profile, and reports throughput and p50/p95/p99 latency per endpoint.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dloadtest.baseUrl=http://localhost:8080 \
+ *     -Dloadtest.users=50 -Dloadtest.durationSeconds=60
+ * </pre>
+ */
+public class LoadTestHarness {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final int users;
+    private final Duration duration;
+    private final HttpClient client;
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+    private final List<Long> commitmentIds = new CopyOnWriteArrayList<>();
+
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private long spaceId;
+
+    public LoadTestHarness(String baseUrl, int users, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(Math.max(4, users)))
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+        int users = Integer.getInteger("loadtest.users", 50);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60));
+
+        LoadTestHarness harness = new LoadTestHarness(baseUrl, users, duration);
+        harness.setUp();
+        long elapsed = harness.run();
+        harness.report(elapsed);
+        System.exit(0);
+    }
+
+    /** Registers users, creates a shared space and makes every user an approved member. */
+    void setUp() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < users; i++) {
+            String token = "loadtest:lt-" + runId + "-" + i;
+            tokens.add(token);
+            userIds.add(send(token, "GET", "/users/me", "GET /users/me", null).get("id").asLong());
+        }
+
+        ObjectNode space = MAPPER.createObjectNode().put("name", "Load test " + runId);
+        spaceId = send(tokens.get(0), "POST", "/spaces", "POST /spaces", space).get("id").asLong();
+
+        for (int i = 1; i < users; i++) {
+            String email = "lt-" + runId + "-" + i + "@loadtest.local";
+            send(tokens.get(0), "POST", "/spaces/" + spaceId + "/invite", "POST /spaces/{id}/invite",
+                MAPPER.createObjectNode().put("email", email));
+            for (JsonNode invite : send(tokens.get(i), "GET", "/invites", "GET /invites", null)) {
+                if (invite.get("spaceId").asLong() == spaceId) {
+                    send(tokens.get(i), "POST", "/invites/" + invite.get("id").asLong() + "/accept",
+                        "POST /invites/{id}/accept", null);
+                }
+            }
+        }
+        stats.clear();
+    }
+
+    /** Runs one simulated user per thread until the duration elapses; returns elapsed nanos. */
+    long run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < users; i++) {
+            int user = i;
+            workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    try {
+                        iteration(user);
+                    } catch (Exception e) {
+                        stats.computeIfAbsent("(client errors)", k -> new LatencyStats()).record(0, false);
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        return System.nanoTime() - start;
+    }
+
+    private void iteration(int user) throws Exception {
+        String token = tokens.get(user);
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 35) {
+            send(token, "GET", "/spaces/" + spaceId + "/commitments?limit=50", "GET /spaces/{id}/commitments", null);
+            return;
+        }
+        if (roll < 55 && !commitmentIds.isEmpty()) {
+            send(token, "GET", "/commitments/" + randomCommitment(), "GET /commitments/{id}", null);
+            return;
+        }
+        if (roll < 70 && !commitmentIds.isEmpty()) {
+            send(token, "GET", "/commitments/" + randomCommitment() + "/history", "GET /commitments/{id}/history", null);
+            return;
+        }
+        approvalFlow(user);
+    }
+
+    /** create -> review -> approve by creator -> approve by partner (locks). */
+    private void approvalFlow(int user) throws Exception {
+        int partner = users == 1 ? user : (user + 1 + ThreadLocalRandom.current().nextInt(users - 1)) % users;
+        ObjectNode request = MAPPER.createObjectNode()
+            .put("title", "Load test commitment")
+            .put("description", "Generated by LoadTestHarness")
+            .put("deadline", LocalDate.now().plusDays(14).toString());
+        request.putArray("approverIds").add(userIds.get(partner));
+
+        JsonNode created = send(tokens.get(user), "POST", "/spaces/" + spaceId + "/commitments",
+            "POST /spaces/{id}/commitments", request);
+        if (created == null) {
+            return;
+        }
+        long id = created.get("id").asLong();
+        commitmentIds.add(id);
+        send(tokens.get(user), "POST", "/commitments/" + id + "/review", "POST /commitments/{id}/review", null);
+        send(tokens.get(user), "POST", "/commitments/" + id + "/approve", "POST /commitments/{id}/approve", null);
+        if (partner != user) {
+            send(tokens.get(partner), "POST", "/commitments/" + id + "/approve", "POST /commitments/{id}/approve", null);
+        }
+    }
+
+    private long randomCommitment() {
+        return commitmentIds.get(ThreadLocalRandom.current().nextInt(commitmentIds.size()));
+    }
+
+    private JsonNode send(String token, String method, String path, String label, JsonNode body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(60))
+            .header("Authorization", "Bearer " + token);
+        if (body != null) {
+            builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - start;
+        boolean success = response.statusCode() / 100 == 2;
+        stats.computeIfAbsent(label, k -> new LatencyStats()).record(elapsed, success);
+
+        if (!success || response.body() == null || response.body().isEmpty()) {
+            return success ? MAPPER.createObjectNode() : null;
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%nLoad test: %d users, %.1f s against %s%n%n", users, seconds, baseUrl);
+        System.out.printf("%-36s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms");
+
+        int total = 0;
+        for (Map.Entry<String, LatencyStats> entry : new TreeMap<>(stats).entrySet()) {
+            LatencyStats s = entry.getValue();
+            total += s.count();
+            System.out.printf("%-36s %8d %7d %9.1f %9.2f %9.2f %9.2f%n", entry.getKey(), s.count(), s.errors(),
+                s.count() / seconds, s.percentileMillis(50), s.percentileMillis(95), s.percentileMillis(99));
+        }
+        System.out.printf("%nTotal throughput: %.1f req/s%n", total / seconds);
+    }
+}
@@ -0,0 +1,124 @@
+package com.commit.commit.admission;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits at most admission.max-concurrent requests at a time (sized to the connection pool)
+ * so a burst queues here for a bounded time instead of inside Hikari for 30 seconds.
+ * Requests that cannot be admitted get 503 with Retry-After.
+ */
+@Component
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1) // Run AFTER CORS filter, before auth touches the database
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern IMPORT_PATH = Pattern.compile("/spaces/[^/]+/commitments/import");
+
+    private final AdmissionGate gate;
+    private final Duration maxWait;
+    private final long retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+
+    public AdmissionControlFilter(AdmissionGate gate, MeterRegistry meterRegistry,
+                                  @Value("${admission.max-wait:2s}") Duration maxWait,
+                                  @Value("${admission.retry-after:1s}") Duration retryAfter) {
+        this.gate = gate;
+        this.maxWait = maxWait;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("admission.queue.depth", gate, AdmissionGate::queueDepth)
+            .description("Requests waiting for admission")
+            .register(meterRegistry);
+        Gauge.builder("admission.in.flight", gate, AdmissionGate::inFlight)
+            .description("Requests currently admitted")
+            .register(meterRegistry);
+    }
+
+    // Imports read the upload for as long as the client takes to send it, so they take a
+    // permit per chunk write in CommitmentImportService instead of holding one here
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equalsIgnoreCase(request.getMethod()) || isImport(request);
+    }
+
+    static boolean isImport(HttpServletRequest request) {
+        return "POST".equalsIgnoreCase(request.getMethod())
+            && IMPORT_PATH.matcher(request.getRequestURI()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestPriority priority = classify(request);
+
+        AdmissionGate.Outcome outcome;
+        long start = System.nanoTime();
+        try {
+            outcome = gate.acquire(priority, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = AdmissionGate.Outcome.TIMED_OUT;
+        }
+        Timer.builder("admission.wait")
+            .description("Time spent waiting for admission")
+            .tag("priority", priority.name())
+            .tag("outcome", outcome.name())
+            .register(meterRegistry)
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (outcome != AdmissionGate.Outcome.ADMITTED) {
+            Counter.builder("admission.rejected")
+                .description("Requests turned away with 503")
+                .tag("priority", priority.name())
+                .tag("reason", outcome.name())
+                .register(meterRegistry)
+                .increment();
+            sendUnavailable(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            gate.release();
+        }
+    }
+
+    static RequestPriority classify(HttpServletRequest request) {
+        if (!"GET".equalsIgnoreCase(request.getMethod()) && !"HEAD".equalsIgnoreCase(request.getMethod())) {
+            return RequestPriority.WRITE;
+        }
+        String uri = request.getRequestURI();
+        if (uri.equals("/spaces") || uri.endsWith("/commitments") || uri.endsWith("/members")) {
+            return RequestPriority.LIST;
+        }
+        return RequestPriority.READ;
+    }
+
+    private void sendUnavailable(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"Server busy, retry shortly\"}");
+    }
+}
@@ -0,0 +1,168 @@
+package com.commit.commit.admission;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.commit.commit.exception.ServerBusyException;
+
+/**
+ * Priority-aware semaphore with a bounded wait queue.
+ *
+ * A released permit is handed directly to the highest-priority waiter (FIFO within a
+ * priority). When the queue is full, a new arrival displaces the newest waiter of a
+ * strictly lower priority, or is rejected if there is none.
+ */
+public class AdmissionGate {
+
+    public enum Outcome { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Waiter> waiters = new TreeSet<>(
+        Comparator.<Waiter, RequestPriority>comparing(w -> w.priority).thenComparingLong(w -> w.sequence));
+    private final int permits;
+    private final int maxQueue;
+    private int available;
+    private long sequence;
+
+    public AdmissionGate(int permits, int maxQueue) {
+        this.permits = permits;
+        this.available = permits;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Runs work holding one permit, for database work that happens outside the request's own
+     * admission (streamed exports, uploaded imports). Throws ServerBusyException if no permit
+     * frees up within maxWait.
+     */
+    public <T> T callAdmitted(RequestPriority priority, Duration maxWait, Supplier<T> work) {
+        Outcome outcome;
+        try {
+            outcome = acquire(priority, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = Outcome.TIMED_OUT;
+        }
+        if (outcome != Outcome.ADMITTED) {
+            throw new ServerBusyException("Server busy, not admitted (" + outcome + ")");
+        }
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    public Outcome acquire(RequestPriority priority, long timeout, TimeUnit unit) throws InterruptedException {
+        lock.lock();
+        try {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return Outcome.ADMITTED;
+            }
+            if (waiters.size() >= maxQueue && !displaceLowerThan(priority)) {
+                return Outcome.QUEUE_FULL;
+            }
+
+            Waiter waiter = new Waiter(priority, sequence++, lock.newCondition());
+            waiters.add(waiter);
+            long remaining = unit.toNanos(timeout);
+            try {
+                while (waiter.state == Waiter.WAITING) {
+                    if (remaining <= 0) {
+                        waiters.remove(waiter);
+                        return Outcome.TIMED_OUT;
+                    }
+                    remaining = waiter.condition.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.state == Waiter.GRANTED) {
+                    releaseLocked();
+                } else {
+                    waiters.remove(waiter);
+                }
+                throw e;
+            }
+            return waiter.state == Waiter.GRANTED ? Outcome.ADMITTED : Outcome.QUEUE_FULL;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release() {
+        lock.lock();
+        try {
+            releaseLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int queueDepth() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int availablePermits() {
+        lock.lock();
+        try {
+            return available;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int inFlight() {
+        return permits - availablePermits();
+    }
+
+    private void releaseLocked() {
+        Waiter next = waiters.pollFirst();
+        if (next == null) {
+            available++;
+            return;
+        }
+        next.state = Waiter.GRANTED;
+        next.condition.signal();
+    }
+
+    private boolean displaceLowerThan(RequestPriority priority) {
+        if (waiters.isEmpty()) {
+            return false; // max-queue 0: nobody to displace
+        }
+        Waiter lowest = waiters.last();
+        if (lowest.priority.compareTo(priority) <= 0) {
+            return false;
+        }
+        waiters.pollLast();
+        lowest.state = Waiter.DISPLACED;
+        lowest.condition.signal();
+        return true;
+    }
+
+    private static final class Waiter {
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int DISPLACED = 2;
+
+        final RequestPriority priority;
+        final long sequence;
+        final Condition condition;
+        int state = WAITING;
+
+        Waiter(RequestPriority priority, long sequence, Condition condition) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+    }
+}
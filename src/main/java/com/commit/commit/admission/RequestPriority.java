@@ -0,0 +1,11 @@
+package com.commit.commit.admission;
+
+/**
+ * Admission priority, highest first. Queued writes are always admitted before reads,
+ * and reads before heavy list reads.
+ */
+public enum RequestPriority {
+    WRITE,
+    READ,
+    LIST
+}
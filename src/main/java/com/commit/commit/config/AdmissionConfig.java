@@ -0,0 +1,23 @@
+package com.commit.commit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.commit.commit.admission.AdmissionGate;
+
+/**
+ * The admission gate, shared by AdmissionControlFilter and by database work that runs after
+ * its request's permit was released (streamed export pages).
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionGate admissionGate(@Value("${admission.max-concurrent:2}") int maxConcurrent,
+                                       @Value("${admission.max-queue:100}") int maxQueue) {
+        return new AdmissionGate(maxConcurrent, maxQueue);
+    }
+}
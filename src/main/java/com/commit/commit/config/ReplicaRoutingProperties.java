@@ -0,0 +1,20 @@
+package com.commit.commit.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "replica-routing")
+public record ReplicaRoutingProperties(
+    boolean enabled,
+    Duration stickiness,
+    List<Replica> replicas
+) {
+    public record Replica(String url, String username, String password, int maximumPoolSize) {}
+
+    public ReplicaRoutingProperties {
+        stickiness = stickiness == null ? Duration.ofSeconds(10) : stickiness;
+        replicas = replicas == null ? List.of() : replicas;
+    }
+}
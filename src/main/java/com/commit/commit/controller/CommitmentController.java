@@ -1,73 +1,161 @@
 package com.commit.commit.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.commit.commit.dto.CommitmentHistoryResponse;
+import com.commit.commit.dto.CommitmentChangesResponse;
+import com.commit.commit.dto.CommitmentImportResponse;
+import com.commit.commit.dto.CommitmentPageResponse;
 import com.commit.commit.dto.CommitmentResponse;
 import com.commit.commit.dto.CreateCommitmentRequest;
 import com.commit.commit.dto.UpdateCommitmentRequest;
+import com.commit.commit.entity.CommitmentStatus;
 import com.commit.commit.security.AuthenticatedUser;
+import com.commit.commit.service.CommitmentImportService;
 import com.commit.commit.service.CommitmentService;
+import com.commit.commit.service.Versioned;
 
 import jakarta.validation.Valid;
 
 @RestController
 public class CommitmentController {
+    private static final Duration LOCKED_MAX_AGE = Duration.ofDays(365);
+
     private final CommitmentService commitmentService;
+    private final CommitmentImportService importService;
 
-    public CommitmentController(CommitmentService commitmentService) {
+    public CommitmentController(CommitmentService commitmentService, CommitmentImportService importService) {
         this.commitmentService = commitmentService;
+        this.importService = importService;
     }
 
     @PostMapping("/spaces/{spaceId}/commitments")
     @ResponseStatus(HttpStatus.CREATED)
     public CommitmentResponse createCommitment(
             @PathVariable Long spaceId,
-            @Valid @RequestBody CreateCommitmentRequest request) {
-        return commitmentService.createCommitment(AuthenticatedUser.getUserId(), spaceId, request);
+            @Valid @RequestBody CreateCommitmentRequest request,
+            AuthenticatedUser user) {
+        return commitmentService.createCommitment(user.id(), spaceId, request);
+    }
+
+    // Reads the upload as a stream; rows are validated and written in chunks, never buffered whole
+    @PostMapping(value = "/spaces/{spaceId}/commitments/import", consumes = {"application/x-ndjson", "text/csv"})
+    public CommitmentImportResponse importCommitments(
+            @PathVariable Long spaceId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            AuthenticatedUser user) throws IOException {
+        return importService.importCommitments(user.id(), spaceId, contentType, body);
     }
 
     @PutMapping("/commitments/{id}")
     public CommitmentResponse updateCommitment(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateCommitmentRequest request) {
-        return commitmentService.updateCommitment(AuthenticatedUser.getUserId(), id, request);
+            @Valid @RequestBody UpdateCommitmentRequest request,
+            AuthenticatedUser user) {
+        return commitmentService.updateCommitment(user.id(), id, request);
     }
 
     @PostMapping("/commitments/{id}/review")
-    public CommitmentResponse sendForReview(@PathVariable Long id) {
-        return commitmentService.sendForReview(AuthenticatedUser.getUserId(), id);
+    public CommitmentResponse sendForReview(@PathVariable Long id, AuthenticatedUser user) {
+        return commitmentService.sendForReview(user.id(), id);
     }
 
     @PostMapping("/commitments/{id}/approve")
-    public CommitmentResponse approve(@PathVariable Long id) {
-        return commitmentService.approve(AuthenticatedUser.getUserId(), id);
+    public CommitmentResponse approve(@PathVariable Long id, AuthenticatedUser user) {
+        return commitmentService.approve(user.id(), id);
     }
 
     @PostMapping("/commitments/{id}/reject")
-    public CommitmentResponse reject(@PathVariable Long id) {
-        return commitmentService.reject(AuthenticatedUser.getUserId(), id);
+    public CommitmentResponse reject(@PathVariable Long id, AuthenticatedUser user) {
+        return commitmentService.reject(user.id(), id);
     }
 
     @GetMapping("/spaces/{spaceId}/commitments")
-    public java.util.List<CommitmentResponse> getSpaceCommitments(@PathVariable Long spaceId) {
-        return commitmentService.getSpaceCommitments(AuthenticatedUser.getUserId(), spaceId);
+    public CommitmentPageResponse getSpaceCommitments(
+            @PathVariable Long spaceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) CommitmentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate deadlineTo,
+            AuthenticatedUser user) {
+        return commitmentService.getSpaceCommitments(user.id(), spaceId,
+            cursor, limit, status, deadlineFrom, deadlineTo);
+    }
+
+    @GetMapping("/spaces/{spaceId}/commitments/search")
+    public CommitmentPageResponse searchSpaceCommitments(
+            @PathVariable Long spaceId,
+            @RequestParam String q,
+            @RequestParam(required = false) List<CommitmentStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            AuthenticatedUser user) {
+        return commitmentService.searchSpaceCommitments(user.id(), spaceId, q, status, cursor, limit);
+    }
+
+    // Commitments touched since an event id, as current snapshots; pass highWaterMark back as since
+    @GetMapping("/spaces/{spaceId}/changes")
+    public CommitmentChangesResponse getSpaceChanges(
+            @PathVariable Long spaceId,
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            AuthenticatedUser user) {
+        return commitmentService.getSpaceChanges(user.id(), spaceId, since, limit);
     }
 
     @GetMapping("/commitments/{id}")
-    public CommitmentResponse getCommitment(@PathVariable Long id) {
-        return commitmentService.getCommitmentById(AuthenticatedUser.getUserId(), id);
+    public ResponseEntity<?> getCommitment(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            AuthenticatedUser user) {
+        Versioned<CommitmentResponse> result = commitmentService.getCachedCommitment(user.id(), id, ifNoneMatch)
+            .orElseGet(() -> commitmentService.getCommitmentById(user.id(), id, ifNoneMatch));
+        // LOCKED is final; anything else must be revalidated against the ETag
+        CacheControl cacheControl = result.status() == CommitmentStatus.LOCKED
+            ? CacheControl.maxAge(LOCKED_MAX_AGE).cachePrivate().immutable()
+            : CacheControl.noCache().cachePrivate();
+        return toResponseEntity(result, cacheControl);
     }
 
     @GetMapping("/commitments/{id}/history")
-    public java.util.List<CommitmentHistoryResponse> getCommitmentHistory(@PathVariable Long id) {
-        return commitmentService.getCommitmentHistory(AuthenticatedUser.getUserId(), id);
+    public ResponseEntity<?> getCommitmentHistory(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            AuthenticatedUser user) {
+        // History keeps growing after LOCKED, so it is always revalidated
+        return toResponseEntity(commitmentService.getCommitmentHistory(user.id(), id, ifNoneMatch),
+            CacheControl.noCache().cachePrivate());
+    }
+
+    private static ResponseEntity<?> toResponseEntity(Versioned<?> result, CacheControl cacheControl) {
+        if (result.notModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(result.etag()).cacheControl(cacheControl).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(result.etag()).cacheControl(cacheControl);
+        // Pre-encoded JSON is written as-is, skipping Jackson
+        return result.json() != null
+            ? builder.contentType(MediaType.APPLICATION_JSON).body(result.json())
+            : builder.body(result.body());
     }
 }
@@ -22,17 +22,17 @@ public class InviteController {
     }
 
     @GetMapping
-    public List<InviteResponse> getPendingInvites() {
-        return spaceService.getPendingInvites(AuthenticatedUser.getUserId());
+    public List<InviteResponse> getPendingInvites(AuthenticatedUser user) {
+        return spaceService.getPendingInvites(user.id());
     }
 
     @PostMapping("/{id}/accept")
-    public void acceptInvite(@PathVariable Long id) {
-        spaceService.acceptInvite(AuthenticatedUser.getUserId(), id);
+    public void acceptInvite(@PathVariable Long id, AuthenticatedUser user) {
+        spaceService.acceptInvite(user.id(), id);
     }
 
     @PostMapping("/{id}/reject")
-    public void rejectInvite(@PathVariable Long id) {
-        spaceService.rejectInvite(AuthenticatedUser.getUserId(), id);
+    public void rejectInvite(@PathVariable Long id, AuthenticatedUser user) {
+        spaceService.rejectInvite(user.id(), id);
     }
 }
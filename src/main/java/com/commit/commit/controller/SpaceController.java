@@ -2,15 +2,22 @@ package com.commit.commit.controller;
 
 import java.util.List;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.commit.commit.dto.CreateSpaceRequest;
 import com.commit.commit.dto.InviteToSpaceRequest;
@@ -19,6 +26,7 @@ import com.commit.commit.dto.SpaceMemberResponse;
 import com.commit.commit.dto.SpaceResponse;
 import com.commit.commit.dto.UserResponse;
 import com.commit.commit.security.AuthenticatedUser;
+import com.commit.commit.service.SpaceExportService;
 import com.commit.commit.service.SpaceService;
 
 import jakarta.validation.Valid;
@@ -27,28 +35,31 @@ import jakarta.validation.Valid;
 @RequestMapping("/spaces")
 public class SpaceController {
     private final SpaceService spaceService;
+    private final SpaceExportService exportService;
 
-    public SpaceController(SpaceService spaceService) {
+    public SpaceController(SpaceService spaceService, SpaceExportService exportService) {
         this.spaceService = spaceService;
+        this.exportService = exportService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public SpaceResponse createSpace(@Valid @RequestBody CreateSpaceRequest request) {
-        return spaceService.createSpace(AuthenticatedUser.getUserId(), request);
+    public SpaceResponse createSpace(@Valid @RequestBody CreateSpaceRequest request, AuthenticatedUser user) {
+        return spaceService.createSpace(user.id(), request);
     }
 
     @PostMapping("/{spaceId}/invite")
     @ResponseStatus(HttpStatus.CREATED)
     public void inviteToSpace(
             @PathVariable Long spaceId,
-            @Valid @RequestBody InviteToSpaceRequest request) {
-        spaceService.inviteToSpace(AuthenticatedUser.getUserId(), spaceId, request);
+            @Valid @RequestBody InviteToSpaceRequest request,
+            AuthenticatedUser user) {
+        spaceService.inviteToSpace(user.id(), spaceId, request);
     }
 
     @GetMapping
-    public List<SpaceResponse> getUserSpaces() {
-        return spaceService.getUserSpaces(AuthenticatedUser.getUserId());
+    public List<SpaceResponse> getUserSpaces(AuthenticatedUser user) {
+        return spaceService.getUserSpaces(user.id());
     }
 
     @GetMapping("/{spaceId}")
@@ -57,20 +68,50 @@ public class SpaceController {
     }
 
     @GetMapping("/{spaceId}/members")
-    public List<SpaceMemberResponse> getSpaceMembers(@PathVariable Long spaceId) {
-        return spaceService.getSpaceMembers(AuthenticatedUser.getUserId(), spaceId);
+    public List<SpaceMemberResponse> getSpaceMembers(@PathVariable Long spaceId, AuthenticatedUser user) {
+        return spaceService.getSpaceMembers(user.id(), spaceId);
     }
 
     @GetMapping("/{spaceId}/members/search")
     public List<UserResponse> searchSpaceMembers(
             @PathVariable Long spaceId,
-            @RequestParam(required = false) String q) {
-        return spaceService.searchSpaceMembers(AuthenticatedUser.getUserId(), spaceId, q);
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit,
+            AuthenticatedUser user) {
+        return spaceService.searchSpaceMembers(user.id(), spaceId, q, limit);
+    }
+
+    // Full NDJSON dump for audits, gzipped when the client accepts it
+    @GetMapping(value = "/{spaceId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSpace(
+            @PathVariable Long spaceId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            AuthenticatedUser user) {
+        boolean gzip = SpaceExportService.acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = exportService.exportSpace(user.id(), spaceId, gzip);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("space-" + spaceId + ".ndjson").build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    // Streams commitment events as they commit; Last-Event-ID resumes after a reconnect
+    @GetMapping(value = "/{spaceId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @PathVariable Long spaceId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            AuthenticatedUser user) {
+        return spaceService.streamEvents(user.id(), spaceId, lastEventId);
     }
 
     @PostMapping("/{spaceId}/leave")
-    public MessageResponse leaveSpace(@PathVariable Long spaceId) {
-        spaceService.leaveSpace(AuthenticatedUser.getUserId(), spaceId);
+    public MessageResponse leaveSpace(@PathVariable Long spaceId, AuthenticatedUser user) {
+        spaceService.leaveSpace(user.id(), spaceId);
         return new MessageResponse("Successfully left the space");
     }
 }
@@ -19,8 +19,8 @@ public class UserController {
     }
 
     @GetMapping("/me")
-    public UserResponse getCurrentUser() {
-        return userService.getCurrentUser(AuthenticatedUser.getUserId());
+    public UserResponse getCurrentUser(AuthenticatedUser user) {
+        return userService.getCurrentUser(user.id());
     }
 
     @GetMapping("/{userId}")
@@ -0,0 +1,9 @@
+package com.commit.commit.dto;
+
+import java.util.List;
+
+public record CommitmentChangesResponse(
+    List<CommitmentResponse> commitments,
+    Long highWaterMark,
+    boolean hasMore
+) {}
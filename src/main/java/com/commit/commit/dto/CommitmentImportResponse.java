@@ -0,0 +1,9 @@
+package com.commit.commit.dto;
+
+import java.util.List;
+
+public record CommitmentImportResponse(
+    int imported,
+    int failed,
+    List<ImportErrorResponse> errors
+) {}
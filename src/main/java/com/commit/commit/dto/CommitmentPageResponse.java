@@ -0,0 +1,8 @@
+package com.commit.commit.dto;
+
+import java.util.List;
+
+public record CommitmentPageResponse(
+    List<CommitmentResponse> commitments,
+    String nextCursor
+) {}
@@ -0,0 +1,6 @@
+package com.commit.commit.dto;
+
+public record ImportErrorResponse(
+    long line,
+    String error
+) {}
@@ -0,0 +1,12 @@
+package com.commit.commit.dto;
+
+import java.time.OffsetDateTime;
+
+public record SpaceEventResponse(
+    Long id,
+    Long commitmentId,
+    String action,
+    PerformedByResponse performedBy,
+    OffsetDateTime timestamp,
+    String details
+) {}
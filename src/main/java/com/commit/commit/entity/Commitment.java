@@ -2,6 +2,8 @@ package com.commit.commit.entity;
 
 import java.time.OffsetDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -10,12 +12,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "commitments")
+@Table(name = "commitments", indexes = @Index(name = "idx_commitments_space_created", columnList = "space_id, created_at, id"))
 public class Commitment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,6 +46,20 @@ public class Commitment {
 
     private OffsetDateTime deadline;
 
+    // Approval quorum, maintained by CommitmentRepository.recordApproval / resetApprovals
+    @ColumnDefault("0")
+    @Column(name = "pending_approvals", nullable = false)
+    private int pendingApprovals;
+
+    @ColumnDefault("0")
+    @Column(name = "approved_count", nullable = false)
+    private int approvedCount;
+
+    // Set once DEADLINE_PASSED has been emitted for the current deadline, by DeadlineEngine
+    @ColumnDefault("false")
+    @Column(name = "deadline_notified", nullable = false)
+    private boolean deadlineNotified;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public Space getSpace() { return space; }
@@ -59,4 +76,10 @@ public class Commitment {
     public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
     public OffsetDateTime getDeadline() { return deadline; }
     public void setDeadline(OffsetDateTime deadline) { this.deadline = deadline; }
+    public int getPendingApprovals() { return pendingApprovals; }
+    public void setPendingApprovals(int pendingApprovals) { this.pendingApprovals = pendingApprovals; }
+    public int getApprovedCount() { return approvedCount; }
+    public void setApprovedCount(int approvedCount) { this.approvedCount = approvedCount; }
+    public boolean isDeadlineNotified() { return deadlineNotified; }
+    public void setDeadlineNotified(boolean deadlineNotified) { this.deadlineNotified = deadlineNotified; }
 }
@@ -11,12 +11,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "commitment_events")
+@Table(name = "commitment_events", indexes = @Index(name = "idx_commitment_events_commitment", columnList = "commitment_id, id"))
 public class CommitmentEvent {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
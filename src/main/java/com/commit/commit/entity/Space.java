@@ -2,6 +2,11 @@ package com.commit.commit.entity;
 
 import java.time.OffsetDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -14,6 +19,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "spaces")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "spaces")
 public class Space {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +38,15 @@ public class Space {
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
+    // Maintained counters; see SpaceRepository.adjust* and CounterReconciler
+    @ColumnDefault("0")
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    @ColumnDefault("0")
+    @Column(name = "commitment_count", nullable = false)
+    private int commitmentCount;
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getName() { return name; }
@@ -41,4 +57,8 @@ public class Space {
     public void setCreatedBy(User createdBy) { this.createdBy = createdBy; }
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+    public int getMemberCount() { return memberCount; }
+    public void setMemberCount(int memberCount) { this.memberCount = memberCount; }
+    public int getCommitmentCount() { return commitmentCount; }
+    public void setCommitmentCount(int commitmentCount) { this.commitmentCount = commitmentCount; }
 }
@@ -0,0 +1,31 @@
+package com.commit.commit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so
+ * RequestQueryMetricsFilter can record how many queries each request issued.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> statementCount = new ThreadLocal<>();
+
+    static void start() {
+        statementCount.set(new int[1]);
+    }
+
+    static int stop() {
+        int[] count = statementCount.get();
+        statementCount.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = statementCount.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
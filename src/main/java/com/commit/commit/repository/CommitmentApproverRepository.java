@@ -1,20 +1,51 @@
 package com.commit.commit.repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.commit.commit.entity.ApproverStatus;
 import com.commit.commit.entity.CommitmentApprover;
 
+import jakarta.persistence.QueryHint;
+
 public interface CommitmentApproverRepository extends JpaRepository<CommitmentApprover, Long> {
     List<CommitmentApprover> findByCommitmentId(Long commitmentId);
     
     @Query("SELECT ca FROM CommitmentApprover ca JOIN FETCH ca.user WHERE ca.commitment.id = :commitmentId")
     List<CommitmentApprover> findByCommitmentIdWithUser(@Param("commitmentId") Long commitmentId);
+
+    @Query("SELECT ca FROM CommitmentApprover ca JOIN FETCH ca.user WHERE ca.commitment.id IN :commitmentIds")
+    List<CommitmentApprover> findByCommitmentIdInWithUser(@Param("commitmentIds") Collection<Long> commitmentIds);
+
     Optional<CommitmentApprover> findByCommitmentIdAndUserId(Long commitmentId, Long userId);
     boolean existsByCommitmentIdAndStatusNot(Long commitmentId, ApproverStatus status);
+
+    @Modifying
+    @Query("UPDATE CommitmentApprover ca SET ca.status = :to, ca.actedAt = :actedAt " +
+           "WHERE ca.commitment.id = :commitmentId AND ca.user.id = :userId AND ca.status = :from")
+    int transitionStatus(@Param("commitmentId") Long commitmentId,
+                         @Param("userId") Long userId,
+                         @Param("from") ApproverStatus from,
+                         @Param("to") ApproverStatus to,
+                         @Param("actedAt") OffsetDateTime actedAt);
+
+    // Locks every approver row of the commitment; callers must already hold the commitment row lock
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CommitmentApprover ca SET ca.status = :status, ca.actedAt = null WHERE ca.commitment.id = :commitmentId")
+    int resetAll(@Param("commitmentId") Long commitmentId, @Param("status") ApproverStatus status);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "commitment_approvers"))
+    @Query(value = "INSERT INTO commitment_approvers (commitment_id, user_id, status) " +
+                   "SELECT :commitmentId, u.id, 'PENDING' FROM users u WHERE u.id IN (:userIds)", nativeQuery = true)
+    int insertPendingApprovers(@Param("commitmentId") Long commitmentId, @Param("userIds") Collection<Long> userIds);
 }
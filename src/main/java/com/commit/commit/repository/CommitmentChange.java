@@ -0,0 +1,4 @@
+package com.commit.commit.repository;
+
+/** A commitment with events after some id, and the newest of those events. */
+public record CommitmentChange(Long commitmentId, Long lastEventId) {}
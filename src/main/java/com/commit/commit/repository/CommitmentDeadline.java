@@ -0,0 +1,6 @@
+package com.commit.commit.repository;
+
+import java.time.OffsetDateTime;
+
+/** A commitment whose deadline has not been announced yet. */
+public record CommitmentDeadline(Long id, OffsetDateTime deadline) {}
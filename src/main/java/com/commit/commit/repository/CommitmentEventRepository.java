@@ -1,7 +1,10 @@
 package com.commit.commit.repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,4 +16,26 @@ public interface CommitmentEventRepository extends JpaRepository<CommitmentEvent
     
     @Query("SELECT ce FROM CommitmentEvent ce JOIN FETCH ce.actor WHERE ce.commitment.id = :commitmentId ORDER BY ce.createdAt ASC")
     List<CommitmentEvent> findByCommitmentIdWithActorOrderByCreatedAtAsc(@Param("commitmentId") Long commitmentId);
+
+    // Oldest changes first, so a truncated result still advances the high-water mark safely
+    @Query("SELECT new com.commit.commit.repository.CommitmentChange(ce.commitment.id, MAX(ce.id)) " +
+           "FROM CommitmentEvent ce WHERE ce.commitment.space.id = :spaceId AND ce.id > :sinceId " +
+           "GROUP BY ce.commitment.id ORDER BY MAX(ce.id) ASC")
+    List<CommitmentChange> findChangedCommitments(@Param("spaceId") Long spaceId, @Param("sinceId") Long sinceId,
+                                                  Pageable pageable);
+
+    @Query("SELECT MAX(ce.id) FROM CommitmentEvent ce " +
+           "WHERE ce.commitment.space.id = :spaceId AND ce.id > :sinceId AND ce.createdAt < :settledBefore")
+    Long findLastSettledEventId(@Param("spaceId") Long spaceId, @Param("sinceId") Long sinceId,
+                                @Param("settledBefore") OffsetDateTime settledBefore);
+
+    @Query("SELECT ce.createdAt FROM CommitmentEvent ce WHERE ce.id = :id")
+    Optional<OffsetDateTime> findCreatedAtById(@Param("id") Long id);
+
+    // Events after afterId, plus lower ids created since createdAfter that may have committed after it
+    @Query("SELECT ce FROM CommitmentEvent ce JOIN FETCH ce.actor " +
+           "WHERE ce.commitment.space.id = :spaceId " +
+           "AND (ce.id > :afterId OR (ce.id < :afterId AND ce.createdAt > :createdAfter)) ORDER BY ce.id ASC")
+    List<CommitmentEvent> findForReplay(@Param("spaceId") Long spaceId, @Param("afterId") Long afterId,
+                                        @Param("createdAfter") OffsetDateTime createdAfter, Pageable pageable);
 }
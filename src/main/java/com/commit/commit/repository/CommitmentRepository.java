@@ -1,21 +1,113 @@
 package com.commit.commit.repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.commit.commit.entity.Commitment;
 import com.commit.commit.entity.CommitmentStatus;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface CommitmentRepository extends JpaRepository<Commitment, Long> {
     List<Commitment> findBySpaceId(Long spaceId);
     
     @Query("SELECT c FROM Commitment c JOIN FETCH c.space JOIN FETCH c.createdBy WHERE c.space.id = :spaceId")
     List<Commitment> findBySpaceIdWithDetails(@Param("spaceId") Long spaceId);
+
+    /**
+     * Keyset page of a space's commitments, newest first. Rows strictly after the
+     * (afterCreatedAt, afterId) position are returned; the page size comes from the Pageable.
+     * The deadline range only applies when deadlineFiltered is true.
+     */
+    @Query("SELECT c FROM Commitment c JOIN FETCH c.space JOIN FETCH c.createdBy " +
+           "WHERE c.space.id = :spaceId AND c.status IN :statuses " +
+           "AND (c.createdAt < :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id < :afterId)) " +
+           "AND (:deadlineFiltered = false OR (c.deadline >= :deadlineFrom AND c.deadline < :deadlineTo)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Commitment> findPageBySpaceId(@Param("spaceId") Long spaceId,
+                                       @Param("statuses") Collection<CommitmentStatus> statuses,
+                                       @Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+                                       @Param("afterId") Long afterId,
+                                       @Param("deadlineFiltered") boolean deadlineFiltered,
+                                       @Param("deadlineFrom") OffsetDateTime deadlineFrom,
+                                       @Param("deadlineTo") OffsetDateTime deadlineTo,
+                                       Pageable pageable);
     
     int countBySpaceId(Long spaceId);
+
+    @Query("SELECT new com.commit.commit.repository.CommitmentText(c.id, c.status, c.title, c.description) " +
+           "FROM Commitment c WHERE c.space.id = :spaceId")
+    List<CommitmentText> findTextBySpaceId(@Param("spaceId") Long spaceId);
+
+    /**
+     * Counts one approval and locks the commitment in the same statement once no approvals
+     * remain pending. Returns 0 if the commitment is no longer in REVIEW.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Commitment c SET c.pendingApprovals = c.pendingApprovals - 1, " +
+           "c.approvedCount = c.approvedCount + 1, " +
+           "c.status = CASE WHEN c.pendingApprovals = 1 THEN :locked ELSE c.status END " +
+           "WHERE c.id = :commitmentId AND c.status = :review AND c.pendingApprovals > 0")
+    int recordApproval(@Param("commitmentId") Long commitmentId,
+                       @Param("review") CommitmentStatus review,
+                       @Param("locked") CommitmentStatus locked);
+
+    /**
+     * Moves a commitment back to DRAFT with every approval pending again.
+     * Returns 0 if the commitment is no longer in REVIEW.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Commitment c SET c.status = :draft, " +
+           "c.pendingApprovals = c.pendingApprovals + c.approvedCount, c.approvedCount = 0 " +
+           "WHERE c.id = :commitmentId AND c.status = :review")
+    int resetApprovals(@Param("commitmentId") Long commitmentId,
+                       @Param("review") CommitmentStatus review,
+                       @Param("draft") CommitmentStatus draft);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "commitments"))
+    @Query(value = "UPDATE commitments c SET " +
+                   "pending_approvals = (SELECT COUNT(*) FROM commitment_approvers ca WHERE ca.commitment_id = c.id AND ca.status <> 'APPROVED'), " +
+                   "approved_count = (SELECT COUNT(*) FROM commitment_approvers ca WHERE ca.commitment_id = c.id AND ca.status = 'APPROVED') " +
+                   "WHERE c.pending_approvals <> (SELECT COUNT(*) FROM commitment_approvers ca WHERE ca.commitment_id = c.id AND ca.status <> 'APPROVED') " +
+                   "OR c.approved_count <> (SELECT COUNT(*) FROM commitment_approvers ca WHERE ca.commitment_id = c.id AND ca.status = 'APPROVED')",
+           nativeQuery = true)
+    int reconcileApprovalCounters();
     
+    @Query("SELECT new com.commit.commit.repository.CommitmentVersion(c.id, c.space.id, c.status, MAX(e.id), COUNT(e.id)) " +
+           "FROM Commitment c LEFT JOIN CommitmentEvent e ON e.commitment = c " +
+           "WHERE c.id = :commitmentId GROUP BY c.id, c.space.id, c.status")
+    Optional<CommitmentVersion> findVersionById(@Param("commitmentId") Long commitmentId);
+
+    @Query("SELECT new com.commit.commit.repository.CommitmentDeadline(c.id, c.deadline) FROM Commitment c " +
+           "WHERE c.deadline IS NOT NULL AND c.deadlineNotified = false")
+    List<CommitmentDeadline> findPendingDeadlines();
+
+    /**
+     * Locks the given commitments whose deadline has passed without a DEADLINE_PASSED event yet.
+     * A concurrent caller on another instance waits and then no longer matches them. Rows are
+     * locked in id order, so overlapping batches cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Commitment c WHERE c.id IN :ids AND c.deadlineNotified = false AND c.deadline <= :now " +
+           "ORDER BY c.id")
+    List<Commitment> findDueDeadlinesForUpdate(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query("UPDATE Commitment c SET c.deadlineNotified = true WHERE c.id IN :ids")
+    int markDeadlinesNotified(@Param("ids") Collection<Long> ids);
+
     boolean existsBySpaceIdAndCreatedByIdAndStatus(Long spaceId, Long userId, CommitmentStatus status);
 }
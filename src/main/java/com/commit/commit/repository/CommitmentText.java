@@ -0,0 +1,6 @@
+package com.commit.commit.repository;
+
+import com.commit.commit.entity.CommitmentStatus;
+
+/** The searchable fields of a commitment. */
+public record CommitmentText(Long id, CommitmentStatus status, String title, String description) {}
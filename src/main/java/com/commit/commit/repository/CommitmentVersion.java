@@ -0,0 +1,16 @@
+package com.commit.commit.repository;
+
+import com.commit.commit.entity.CommitmentStatus;
+
+/**
+ * What a commitment read depends on, without its approver rows. Events are append-only and
+ * every change emits one, so (lastEventId, eventCount) changes whenever the commitment or its
+ * history does, even if a lower event id commits after a higher one.
+ */
+public record CommitmentVersion(
+    Long commitmentId,
+    Long spaceId,
+    CommitmentStatus status,
+    Long lastEventId,
+    long eventCount
+) {}
@@ -1,8 +1,36 @@
 package com.commit.commit.repository;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.commit.commit.entity.Space;
 
+import jakarta.persistence.QueryHint;
+
 public interface SpaceRepository extends JpaRepository<Space, Long> {
+
+    // Native with a query space no entity maps to, so the spaces region is not cleared;
+    // callers go through SpaceCounters, which evicts the one space
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "space_counters"))
+    @Query(value = "UPDATE spaces SET member_count = member_count + :delta WHERE id = :spaceId", nativeQuery = true)
+    int adjustMemberCount(@Param("spaceId") Long spaceId, @Param("delta") int delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "space_counters"))
+    @Query(value = "UPDATE spaces SET commitment_count = commitment_count + :delta WHERE id = :spaceId", nativeQuery = true)
+    int adjustCommitmentCount(@Param("spaceId") Long spaceId, @Param("delta") int delta);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "spaces"))
+    @Query(value = "UPDATE spaces s SET " +
+                   "member_count = (SELECT COUNT(*) FROM user_space us WHERE us.space_id = s.id AND us.status = 'APPROVED'), " +
+                   "commitment_count = (SELECT COUNT(*) FROM commitments c WHERE c.space_id = s.id) " +
+                   "WHERE s.member_count <> (SELECT COUNT(*) FROM user_space us WHERE us.space_id = s.id AND us.status = 'APPROVED') " +
+                   "OR s.commitment_count <> (SELECT COUNT(*) FROM commitments c WHERE c.space_id = s.id)", nativeQuery = true)
+    int reconcileCounters();
 }
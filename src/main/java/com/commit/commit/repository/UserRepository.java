@@ -3,12 +3,28 @@ package com.commit.commit.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.commit.commit.entity.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByIdIn(List<Long> ids);
     Optional<User> findByEmail(String email);
+
+    // Runs on every authenticated request; result ids are cached and the User comes from the users region
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-firebase-uid")
+    })
     Optional<User> findByFirebaseUid(String firebaseUid);
+
+    // The same lookup past the query cache, which may hold a miss read from a lagging replica
+    @Query("SELECT u FROM User u WHERE u.firebaseUid = :firebaseUid")
+    Optional<User> findUncachedByFirebaseUid(@Param("firebaseUid") String firebaseUid);
 }
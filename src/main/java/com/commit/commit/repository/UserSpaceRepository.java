@@ -1,9 +1,12 @@
 package com.commit.commit.repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,6 +15,19 @@ import com.commit.commit.entity.UserSpace;
 
 public interface UserSpaceRepository extends JpaRepository<UserSpace, Long> {
     boolean existsByUserIdAndSpaceIdAndStatus(Long userId, Long spaceId, MembershipStatus status);
+
+    @Query("SELECT us.status FROM UserSpace us WHERE us.user.id = :userId AND us.space.id = :spaceId")
+    Optional<MembershipStatus> findStatusByUserIdAndSpaceId(@Param("userId") Long userId, @Param("spaceId") Long spaceId);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :userIds AND NOT EXISTS " +
+           "(SELECT 1 FROM UserSpace us WHERE us.user = u AND us.space.id = :spaceId AND us.status = :status) " +
+           "ORDER BY u.id")
+    List<Long> findUserIdsWithoutMembership(@Param("userIds") Collection<Long> userIds,
+                                            @Param("spaceId") Long spaceId,
+                                            @Param("status") MembershipStatus status);
+
+    @Query("SELECT us.user.id FROM UserSpace us WHERE us.space.id = :spaceId AND us.status = :status")
+    List<Long> findUserIdsBySpaceIdAndStatus(@Param("spaceId") Long spaceId, @Param("status") MembershipStatus status);
     Optional<UserSpace> findByUserIdAndSpaceId(Long userId, Long spaceId);
     List<UserSpace> findByUserIdAndStatus(Long userId, MembershipStatus status);
     
@@ -29,11 +45,12 @@ public interface UserSpaceRepository extends JpaRepository<UserSpace, Long> {
     List<UserSpace> findBySpaceIdAndStatusWithUser(@Param("spaceId") Long spaceId, @Param("status") MembershipStatus status);
     
     int countBySpaceIdAndStatus(Long spaceId, MembershipStatus status);
-    
-    @Query("SELECT us FROM UserSpace us JOIN FETCH us.user u WHERE us.space.id = :spaceId AND us.status = :status " +
-           "AND (LOWER(u.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-           "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<UserSpace> searchMembersByQuery(@Param("spaceId") Long spaceId, 
-                                         @Param("status") MembershipStatus status,
-                                         @Param("query") String query);
+
+    // Returns 0 if the membership left the expected status first, so only one caller wins
+    @Modifying
+    @Query("UPDATE UserSpace us SET us.status = :to, us.joinedAt = :joinedAt WHERE us.id = :id AND us.status = :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") MembershipStatus from,
+                         @Param("to") MembershipStatus to,
+                         @Param("joinedAt") OffsetDateTime joinedAt);
 }
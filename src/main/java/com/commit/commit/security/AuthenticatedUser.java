@@ -3,27 +3,17 @@ package com.commit.commit.security;
 import com.commit.commit.entity.User;
 
 /**
- * Holds the authenticated user for the current request.
- * This is set by the FirebaseAuthFilter after token verification.
+ * The authenticated user for the current request.
+ * FirebaseAuthFilter stores it as a request attribute after token verification, and
+ * AuthenticatedUserArgumentResolver hands it to controller methods that declare it.
+ * It is immutable and not thread-bound, so it can be captured by tasks the request
+ * spawns (including on virtual threads) and cannot leak into another request.
  */
-public class AuthenticatedUser {
-    
-    private static final ThreadLocal<User> currentUser = new ThreadLocal<>();
+public record AuthenticatedUser(Long id, String firebaseUid, String email, String name) {
 
-    public static void set(User user) {
-        currentUser.set(user);
-    }
-
-    public static User get() {
-        return currentUser.get();
-    }
-
-    public static Long getUserId() {
-        User user = currentUser.get();
-        return user != null ? user.getId() : null;
-    }
+    public static final String REQUEST_ATTRIBUTE = AuthenticatedUser.class.getName();
 
-    public static void clear() {
-        currentUser.remove();
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getFirebaseUid(), user.getEmail(), user.getName());
     }
 }
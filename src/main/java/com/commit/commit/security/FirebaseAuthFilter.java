@@ -3,16 +3,18 @@ package com.commit.commit.security;
 import java.io.IOException;
 import java.time.OffsetDateTime;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.commit.commit.datasource.ReadWriteRoutingDataSource;
 import com.commit.commit.entity.User;
 import com.commit.commit.repository.UserRepository;
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,20 +22,33 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 @Component
-@Order(Ordered.HIGHEST_PRECEDENCE + 1) // Run AFTER CORS filter
+@Order(Ordered.HIGHEST_PRECEDENCE + 2) // Run AFTER CORS and admission filters
 public class FirebaseAuthFilter extends OncePerRequestFilter {
 
-    private final FirebaseAuth firebaseAuth;
+    private final TokenVerifier tokenVerifier;
     private final UserRepository userRepository;
-
-    public FirebaseAuthFilter(FirebaseAuth firebaseAuth, UserRepository userRepository) {
-        this.firebaseAuth = firebaseAuth;
+    private final VerifiedTokenCache tokenCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+    private final boolean checkRevoked;
+
+    public FirebaseAuthFilter(TokenVerifier tokenVerifier, UserRepository userRepository,
+                              VerifiedTokenCache tokenCache, TransactionTemplate transactionTemplate,
+                              ObjectProvider<ReadWriteRoutingDataSource> routingDataSource,
+                              @Value("${firebase.token-cache.check-revoked:false}") boolean checkRevoked) {
+        this.tokenVerifier = tokenVerifier;
         this.userRepository = userRepository;
+        this.tokenCache = tokenCache;
+        this.transactionTemplate = transactionTemplate;
+        this.routingDataSource = routingDataSource;
+        this.checkRevoked = checkRevoked;
     }
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        // Skip this filter entirely for OPTIONS requests - let Spring handle CORS
+        // Skip this filter entirely for OPTIONS requests - let Spring handle CORS.
+        // Actuator runs on the management port, whose server never sees this filter; on the
+        // application port it must stay behind authentication like everything else.
         return "OPTIONS".equalsIgnoreCase(request.getMethod());
     }
 
@@ -51,31 +66,64 @@ public class FirebaseAuthFilter extends OncePerRequestFilter {
         String idToken = authHeader.substring(7);
 
         try {
-            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken);
-            String firebaseUid = decodedToken.getUid();
-            String email = decodedToken.getEmail();
-            String name = decodedToken.getName();
+            VerifiedToken verifiedToken = verifyToken(idToken);
+            String firebaseUid = verifiedToken.uid();
+            String email = verifiedToken.email();
+            String name = verifiedToken.name();
 
-            // Find or create user (auto-registration)
+            // Find or create user (auto-registration). The lookup may run on a replica, so a miss
+            // is only settled on the primary.
             User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseGet(() -> createUser(firebaseUid, email, name));
+                .orElseGet(() -> findOrCreateUser(firebaseUid, email, name));
 
-            // Set user in thread-local context
-            AuthenticatedUser.set(user);
+            // Expose the user to controllers for the lifetime of this request only
+            request.setAttribute(AuthenticatedUser.REQUEST_ATTRIBUTE, AuthenticatedUser.of(user));
 
             filterChain.doFilter(request, response);
 
-        } catch (FirebaseAuthException e) {
-            if (e.getMessage().contains("expired")) {
+        } catch (InvalidTokenException e) {
+            if (e.isExpired()) {
                 sendUnauthorized(response, "Token expired");
             } else {
                 sendUnauthorized(response, "Invalid token");
             }
-        } finally {
-            AuthenticatedUser.clear();
         }
     }
 
+    private VerifiedToken verifyToken(String idToken) throws InvalidTokenException {
+        // Revocation checks must reach Firebase every time, so they skip the cache entirely
+        if (checkRevoked) {
+            return tokenVerifier.verify(idToken, true);
+        }
+
+        VerifiedToken cached = tokenCache.get(idToken);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedToken verified = tokenVerifier.verify(idToken, false);
+        tokenCache.put(idToken, verified);
+        return verified;
+    }
+
+    // A write transaction runs on the primary, so a user a lagging replica has not seen yet is
+    // found here instead of being inserted twice
+    private User findOrCreateUser(String firebaseUid, String email, String name) {
+        User user;
+        try {
+            user = transactionTemplate.execute(status -> userRepository.findUncachedByFirebaseUid(firebaseUid)
+                .orElseGet(() -> createUser(firebaseUid, email, name)));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first request from the same user created it first
+            user = transactionTemplate.execute(status -> userRepository.findUncachedByFirebaseUid(firebaseUid)
+                .orElseThrow(() -> e));
+        }
+        // The user was unknown when the write took its connection, so mark it for read-your-writes here
+        Long userId = user.getId();
+        routingDataSource.ifAvailable(routing -> routing.recordWrite(userId));
+        return user;
+    }
+
     private User createUser(String firebaseUid, String email, String name) {
         User user = new User();
         user.setFirebaseUid(firebaseUid);
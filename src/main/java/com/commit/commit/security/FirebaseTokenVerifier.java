@@ -0,0 +1,32 @@
+package com.commit.commit.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+
+@Component
+@ConditionalOnProperty(name = "firebase.enabled", havingValue = "true", matchIfMissing = true)
+public class FirebaseTokenVerifier implements TokenVerifier {
+
+    private final FirebaseAuth firebaseAuth;
+
+    public FirebaseTokenVerifier(FirebaseAuth firebaseAuth) {
+        this.firebaseAuth = firebaseAuth;
+    }
+
+    @Override
+    public VerifiedToken verify(String idToken, boolean checkRevoked) throws InvalidTokenException {
+        try {
+            FirebaseToken decodedToken = firebaseAuth.verifyIdToken(idToken, checkRevoked);
+            Object exp = decodedToken.getClaims().get("exp");
+            long expiresAt = exp instanceof Number number ? number.longValue() : 0L;
+            return new VerifiedToken(decodedToken.getUid(), decodedToken.getEmail(), decodedToken.getName(), expiresAt);
+        } catch (FirebaseAuthException e) {
+            boolean expired = e.getMessage() != null && e.getMessage().contains("expired");
+            throw new InvalidTokenException(e.getMessage(), expired, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.commit.commit.security;
+
+public class InvalidTokenException extends Exception {
+    private final boolean expired;
+
+    public InvalidTokenException(String message, boolean expired, Throwable cause) {
+        super(message, cause);
+        this.expired = expired;
+    }
+
+    public boolean isExpired() {
+        return expired;
+    }
+}
@@ -0,0 +1,30 @@
+package com.commit.commit.security;
+
+import java.time.Instant;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deterministic verifier for the "loadtest" profile, so the API can be driven offline.
+ * Accepts tokens of the form {@code loadtest:<uid>} or {@code loadtest:<uid>:<anything>}
+ * and maps them to the user {@code <uid>@loadtest.local}. Never enable in production.
+ */
+@Component
+@Profile("loadtest")
+public class LocalTokenVerifier implements TokenVerifier {
+    public static final String PREFIX = "loadtest:";
+    private static final long TOKEN_LIFETIME_SECONDS = 3600;
+
+    @Override
+    public VerifiedToken verify(String idToken, boolean checkRevoked) throws InvalidTokenException {
+        if (!idToken.startsWith(PREFIX) || idToken.length() == PREFIX.length()) {
+            throw new InvalidTokenException("Not a load-test token", false, null);
+        }
+        String rest = idToken.substring(PREFIX.length());
+        int sep = rest.indexOf(':');
+        String uid = sep < 0 ? rest : rest.substring(0, sep);
+        return new VerifiedToken(uid, uid + "@loadtest.local", uid,
+            Instant.now().getEpochSecond() + TOKEN_LIFETIME_SECONDS);
+    }
+}
@@ -0,0 +1,9 @@
+package com.commit.commit.security;
+
+/**
+ * Verifies bearer ID tokens for FirebaseAuthFilter.
+ */
+public interface TokenVerifier {
+
+    VerifiedToken verify(String idToken, boolean checkRevoked) throws InvalidTokenException;
+}
@@ -0,0 +1,6 @@
+package com.commit.commit.security;
+
+/**
+ * Identity extracted from a successfully verified ID token.
+ */
+public record VerifiedToken(String uid, String email, String name, long expiresAtEpochSecond) {}
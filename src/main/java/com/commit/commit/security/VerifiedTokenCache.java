@@ -0,0 +1,79 @@
+package com.commit.commit.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of already-verified Firebase ID tokens.
+ * Keys are SHA-256 hashes of the raw token so bearer tokens are never held in memory,
+ * and each entry expires exactly at the token's exp claim. Hit and miss counts are exported
+ * as the cache.* meters tagged cache=firebase.tokens.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${firebase.token-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, VerifiedToken>() {
+                @Override
+                public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                    return remainingNanos(token);
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return remainingNanos(token);
+                }
+
+                @Override
+                public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "firebase.tokens");
+    }
+
+    public VerifiedToken get(String idToken) {
+        return cache.getIfPresent(hash(idToken));
+    }
+
+    public void put(String idToken, VerifiedToken token) {
+        if (remainingNanos(token) > 0) {
+            cache.put(hash(idToken), token);
+        }
+    }
+
+    private static long remainingNanos(VerifiedToken token) {
+        long remainingSeconds = token.expiresAtEpochSecond() - Instant.now().getEpochSecond();
+        return remainingSeconds <= 0 ? 0 : TimeUnit.SECONDS.toNanos(remainingSeconds);
+    }
+
+    private static String hash(String idToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(idToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
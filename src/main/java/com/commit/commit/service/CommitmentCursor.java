@@ -0,0 +1,42 @@
+package com.commit.commit.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.exception.InvalidStateException;
+
+/**
+ * Opaque keyset cursor over (createdAt, id) for space commitment listing.
+ * Encoded as URL-safe base64 so clients treat it as an opaque token.
+ */
+public record CommitmentCursor(OffsetDateTime createdAt, Long id) {
+
+    public static CommitmentCursor of(Commitment commitment) {
+        return new CommitmentCursor(commitment.getCreatedAt(), commitment.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.toInstant() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommitmentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new InvalidStateException("Invalid cursor");
+            }
+            OffsetDateTime createdAt = Instant.parse(raw.substring(0, sep)).atOffset(ZoneOffset.UTC);
+            Long id = Long.valueOf(raw.substring(sep + 1));
+            return new CommitmentCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidStateException("Invalid cursor");
+        }
+    }
+}
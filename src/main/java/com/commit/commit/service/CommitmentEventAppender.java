@@ -0,0 +1,131 @@
+package com.commit.commit.service;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.commit.commit.entity.CommitmentEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Collects CommitmentEvents emitted during a transaction and writes them as one multi-row
+ * INSERT just before that transaction commits. The insert runs on the transaction's own
+ * connection, so an event is durable if and only if the state change that produced it is.
+ * Without an active transaction, events are written immediately. created_at is stamped
+ * when the rows are written, next to id allocation, whatever the caller set earlier.
+ */
+@Component
+public class CommitmentEventAppender {
+    // Ids are allocated at insert, before commit, so a lower id can become visible after a
+    // higher one; readers resuming from an id look back this far (by created_at, which is
+    // stamped at insert too) for such late commits
+    static final Duration SETTLE_TIME = Duration.ofSeconds(5);
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final String INSERT_PREFIX =
+        "INSERT INTO commitment_events (commitment_id, actor_user_id, event_type, payload, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, CAST(? AS jsonb), ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SpaceEventBroadcaster broadcaster;
+
+    public CommitmentEventAppender(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                   SpaceEventBroadcaster broadcaster) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.broadcaster = broadcaster;
+    }
+
+    public void append(CommitmentEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(event));
+            committed(List.of(event));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<CommitmentEvent> pending = (List<CommitmentEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<CommitmentEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(events);
+                }
+
+                @Override
+                public void afterCommit() {
+                    committed(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CommitmentEventAppender.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    private void committed(List<CommitmentEvent> events) {
+        for (CommitmentEvent event : events) {
+            meterRegistry.counter("commitment.events", "type", event.getEventType()).increment();
+        }
+        broadcaster.publish(events);
+    }
+
+    private void write(List<CommitmentEvent> events) {
+        for (int from = 0; from < events.size(); from += MAX_ROWS_PER_STATEMENT) {
+            writeChunk(events.subList(from, Math.min(events.size(), from + MAX_ROWS_PER_STATEMENT)));
+        }
+    }
+
+    private void writeChunk(List<CommitmentEvent> events) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? ROW : ", " + ROW);
+        }
+
+        OffsetDateTime writtenAt = OffsetDateTime.now();
+        events.forEach(event -> event.setCreatedAt(writtenAt));
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), new String[] {"id"});
+            int index = 1;
+            for (CommitmentEvent event : events) {
+                ps.setLong(index++, event.getCommitment().getId());
+                ps.setLong(index++, event.getActor().getId());
+                ps.setString(index++, event.getEventType());
+                if (event.getPayload() != null) {
+                    ps.setString(index++, event.getPayload());
+                } else {
+                    ps.setNull(index++, Types.VARCHAR);
+                }
+                ps.setObject(index++, event.getCreatedAt());
+            }
+            return ps;
+        }, keyHolder);
+
+        // Expose generated ids to callers that publish the events after commit
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < events.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            events.get(i).setId(((Number) id).longValue());
+        }
+    }
+}
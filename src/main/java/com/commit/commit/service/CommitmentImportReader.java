@@ -0,0 +1,173 @@
+package com.commit.commit.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Reads bulk-import rows one at a time, so only the current row is ever held in memory.
+ *
+ * NDJSON has one CreateCommitmentRequest object per line. CSV needs a header row naming the
+ * columns title, description, deadline and approverIds, with approver ids separated by ';'.
+ * A row that cannot be parsed comes back with an error instead of a request; malformed CSV
+ * quoting ends the input, since no later row boundary can be trusted.
+ */
+abstract class CommitmentImportReader implements Closeable {
+
+    record Row(long line, CreateCommitmentRequest request, String error) {
+
+        static Row failed(long line, String error) {
+            return new Row(line, null, error);
+        }
+    }
+
+    static final int MAX_LINE_CHARS = 64 * 1024;
+
+    /** The next row, or null at the end of the input. */
+    abstract Row next() throws IOException;
+
+    static CommitmentImportReader ndjson(InputStream in, ObjectMapper objectMapper) {
+        return new Ndjson(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), objectMapper);
+    }
+
+    static CommitmentImportReader csv(InputStream in) throws IOException {
+        MappingIterator<Map<String, String>> rows = new CsvMapper()
+            .readerForMapOf(String.class)
+            .with(CsvSchema.emptySchema().withHeader())
+            .readValues(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return new Csv(rows);
+    }
+
+    private static final class Ndjson extends CommitmentImportReader {
+        private final Reader reader;
+        private final ObjectMapper objectMapper;
+        private final StringBuilder line = new StringBuilder();
+        private long lineNumber;
+
+        Ndjson(Reader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            while (true) {
+                line.setLength(0);
+                boolean tooLong = false;
+                int c;
+                while ((c = reader.read()) != -1 && c != '\n') {
+                    if (line.length() < MAX_LINE_CHARS) {
+                        line.append((char) c);
+                    } else {
+                        tooLong = true; // keep reading to the newline, but drop the rest
+                    }
+                }
+                if (c == -1 && line.isEmpty()) {
+                    return null;
+                }
+                lineNumber++;
+
+                if (tooLong) {
+                    return Row.failed(lineNumber, "Line longer than " + MAX_LINE_CHARS + " characters");
+                }
+                String json = line.toString().strip();
+                if (json.isEmpty()) {
+                    continue;
+                }
+                try {
+                    return new Row(lineNumber, objectMapper.readValue(json, CreateCommitmentRequest.class), null);
+                } catch (JacksonException e) {
+                    return Row.failed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class Csv extends CommitmentImportReader {
+        private final MappingIterator<Map<String, String>> rows;
+        private boolean ended;
+
+        Csv(MappingIterator<Map<String, String>> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        Row next() throws IOException {
+            if (ended) {
+                return null;
+            }
+            try {
+                if (!rows.hasNextValue()) {
+                    return null;
+                }
+                // The parser has just opened the row, so its location is still on the row's first line
+                long line = rows.getCurrentLocation().getLineNr();
+                return toRow(line, rows.nextValue());
+            } catch (JacksonException e) {
+                ended = true;
+                long line = e.getLocation() != null ? e.getLocation().getLineNr() : rows.getCurrentLocation().getLineNr();
+                return Row.failed(line, "Malformed CSV: " + e.getOriginalMessage());
+            }
+        }
+
+        private static Row toRow(long line, Map<String, String> row) {
+            LocalDate deadline = null;
+            String deadlineText = blankToNull(row.get("deadline"));
+            if (deadlineText != null) {
+                try {
+                    deadline = LocalDate.parse(deadlineText);
+                } catch (DateTimeParseException e) {
+                    return Row.failed(line, "Invalid deadline: " + deadlineText);
+                }
+            }
+
+            List<Long> approverIds = new ArrayList<>();
+            String approversText = blankToNull(row.get("approverIds"));
+            if (approversText != null) {
+                try {
+                    for (String id : approversText.split("[;\\s]+")) {
+                        if (!id.isEmpty()) {
+                            approverIds.add(Long.valueOf(id));
+                        }
+                    }
+                } catch (NumberFormatException e) {
+                    return Row.failed(line, "Invalid approverIds: " + approversText);
+                }
+            }
+
+            CreateCommitmentRequest request = new CreateCommitmentRequest(
+                row.get("title"), blankToNull(row.get("description")), deadline, approverIds);
+            return new Row(line, request, null);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.strip();
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
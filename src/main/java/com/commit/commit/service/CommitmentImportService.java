@@ -0,0 +1,344 @@
+package com.commit.commit.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commit.commit.admission.AdmissionGate;
+import com.commit.commit.admission.RequestPriority;
+import com.commit.commit.dto.CommitmentImportResponse;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.ImportErrorResponse;
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentEvent;
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.entity.Space;
+import com.commit.commit.entity.User;
+import com.commit.commit.exception.InvalidStateException;
+import com.commit.commit.exception.NotFoundException;
+import com.commit.commit.exception.ServerBusyException;
+import com.commit.commit.exception.UnauthorizedException;
+import com.commit.commit.repository.SpaceRepository;
+import com.commit.commit.repository.UserRepository;
+import com.commit.commit.repository.UserSpaceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk import of commitments from a streamed NDJSON or CSV upload.
+ *
+ * Rows are validated against the space's approved members, loaded once, and written in
+ * chunks of CHUNK_SIZE, each in its own transaction: one multi-row INSERT for the
+ * commitments, one JDBC batch for their approvers and the usual appender flush for their
+ * CREATED events. Memory is bounded by one chunk plus the member set, whatever the upload
+ * size. Rows that fail validation are skipped and reported. A chunk whose write fails is
+ * rolled back, counted as failed and reported once; earlier and later chunks are unaffected.
+ *
+ * The request-level admission filter skips imports, since a slow upload would hold its permit
+ * while the client sends. Instead the setup queries and each chunk write take a permit of their
+ * own, only for as long as they use a connection.
+ */
+@Service
+public class CommitmentImportService {
+    private static final Logger log = LoggerFactory.getLogger(CommitmentImportService.class);
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_TEXT_LENGTH = 255; // default varchar length of title and description
+    private static final String INSERT_PREFIX =
+        "INSERT INTO commitments (space_id, title, description, deadline, status, created_by, created_at, " +
+        "pending_approvals, approved_count) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_APPROVER =
+        "INSERT INTO commitment_approvers (commitment_id, user_id, status) VALUES (?, ?, 'PENDING')";
+
+    private record PendingCommitment(long line, Commitment commitment, Set<Long> approverIds) {}
+    private record ImportTarget(Space space, User creator, Set<Long> memberIds) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SpaceRepository spaceRepository;
+    private final SpaceCounters spaceCounters;
+    private final UserRepository userRepository;
+    private final UserSpaceRepository userSpaceRepository;
+    private final MembershipCache membershipCache;
+    private final CommitmentEventAppender eventAppender;
+    private final CommitmentSearchIndex searchIndex;
+    private final DeadlineEngine deadlineEngine;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<AdmissionGate> admissionGate;
+    private final Duration admissionWait;
+
+    public CommitmentImportService(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   SpaceRepository spaceRepository,
+                                   SpaceCounters spaceCounters,
+                                   UserRepository userRepository,
+                                   UserSpaceRepository userSpaceRepository,
+                                   MembershipCache membershipCache,
+                                   CommitmentEventAppender eventAppender,
+                                   CommitmentSearchIndex searchIndex,
+                                   DeadlineEngine deadlineEngine,
+                                   ObjectMapper objectMapper,
+                                   Validator validator,
+                                   MeterRegistry meterRegistry,
+                                   ObjectProvider<AdmissionGate> admissionGate,
+                                   @Value("${commitment-import.admission-wait:30s}") Duration admissionWait) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.spaceRepository = spaceRepository;
+        this.spaceCounters = spaceCounters;
+        this.userRepository = userRepository;
+        this.userSpaceRepository = userSpaceRepository;
+        this.membershipCache = membershipCache;
+        this.eventAppender = eventAppender;
+        this.searchIndex = searchIndex;
+        this.deadlineEngine = deadlineEngine;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.meterRegistry = meterRegistry;
+        this.admissionGate = admissionGate;
+        this.admissionWait = admissionWait;
+    }
+
+    public CommitmentImportResponse importCommitments(Long userId, Long spaceId, MediaType contentType,
+                                                      InputStream body) throws IOException {
+        ImportTarget target = admitted(RequestPriority.WRITE, () -> loadTarget(userId, spaceId));
+        Space space = target.space();
+        User creator = target.creator();
+        Set<Long> memberIds = target.memberIds();
+
+        int imported = 0;
+        int failed = 0;
+        List<ImportErrorResponse> errors = new ArrayList<>();
+        List<PendingCommitment> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (CommitmentImportReader reader = openReader(contentType, body)) {
+            CommitmentImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.request(), userId, memberIds);
+                if (error != null) {
+                    failed++;
+                    report(errors, row.line(), error);
+                    continue;
+                }
+
+                chunk.add(toPending(row.line(), row.request(), space, creator));
+                if (chunk.size() == CHUNK_SIZE) {
+                    if (tryWriteChunk(spaceId, creator, chunk, errors)) {
+                        imported += chunk.size();
+                    } else {
+                        failed += chunk.size();
+                    }
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            if (tryWriteChunk(spaceId, creator, chunk, errors)) {
+                imported += chunk.size();
+            } else {
+                failed += chunk.size();
+            }
+        }
+
+        meterRegistry.counter("commitment.import.rows", "outcome", "imported").increment(imported);
+        meterRegistry.counter("commitment.import.rows", "outcome", "failed").increment(failed);
+        return new CommitmentImportResponse(imported, failed, errors);
+    }
+
+    private ImportTarget loadTarget(Long userId, Long spaceId) {
+        Space space = spaceRepository.findById(spaceId)
+            .orElseThrow(() -> new NotFoundException("Space not found"));
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
+            throw new UnauthorizedException("User not member of space");
+        }
+        User creator = userRepository.findById(userId)
+            .orElseThrow(() -> new NotFoundException("User not found"));
+        Set<Long> memberIds = new HashSet<>(userSpaceRepository.findUserIdsBySpaceIdAndStatus(spaceId, MembershipStatus.APPROVED));
+        return new ImportTarget(space, creator, memberIds);
+    }
+
+    private CommitmentImportReader openReader(MediaType contentType, InputStream body) throws IOException {
+        if (contentType != null && NDJSON.includes(contentType)) {
+            return CommitmentImportReader.ndjson(body, objectMapper);
+        }
+        if (contentType != null && CSV.includes(contentType)) {
+            return CommitmentImportReader.csv(body);
+        }
+        throw new InvalidStateException("Content-Type must be " + NDJSON + " or " + CSV);
+    }
+
+    private String validate(CreateCommitmentRequest request, Long userId, Set<Long> memberIds) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        Set<ConstraintViolation<CreateCommitmentRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreateCommitmentRequest> first = violations.stream()
+                .min(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .get();
+            return first.getPropertyPath() + " " + first.getMessage();
+        }
+        if (request.title().length() > MAX_TEXT_LENGTH) {
+            return "title must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (request.description() != null && request.description().length() > MAX_TEXT_LENGTH) {
+            return "description must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        for (Long approverId : request.approverIds()) {
+            if (approverId == null || !memberIds.contains(approverId)) {
+                return "Approver " + approverId + " not member of space";
+            }
+        }
+        return null;
+    }
+
+    private void report(List<ImportErrorResponse> errors, long line, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ImportErrorResponse(line, error));
+        }
+    }
+
+    private PendingCommitment toPending(long line, CreateCommitmentRequest request, Space space, User creator) {
+        Set<Long> approverIds = new LinkedHashSet<>(request.approverIds());
+        approverIds.add(creator.getId()); // creator is implicitly an approver
+
+        Commitment commitment = new Commitment();
+        commitment.setSpace(space);
+        commitment.setTitle(request.title());
+        commitment.setDescription(request.description());
+        commitment.setDeadline(toOffsetDateTime(request.deadline()));
+        commitment.setStatus(CommitmentStatus.DRAFT);
+        commitment.setCreatedBy(creator);
+        commitment.setPendingApprovals(approverIds.size());
+        return new PendingCommitment(line, commitment, approverIds);
+    }
+
+    // Reports a failed chunk against its first line instead of failing the whole import
+    private boolean tryWriteChunk(Long spaceId, User creator, List<PendingCommitment> chunk,
+                                  List<ImportErrorResponse> errors) {
+        long first = chunk.get(0).line();
+        long last = chunk.get(chunk.size() - 1).line();
+        try {
+            admitted(RequestPriority.WRITE, () -> {
+                writeChunk(spaceId, creator, chunk);
+                return null;
+            });
+            return true;
+        } catch (ServerBusyException e) {
+            log.warn("Not admitted to import commitments from lines {}-{} into space {}", first, last, spaceId);
+            report(errors, first, "Rows on lines " + first + "-" + last + " not imported: server busy");
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Failed to import commitments from lines {}-{} into space {}", first, last, spaceId, e);
+            report(errors, first, "Rows on lines " + first + "-" + last + " not imported: write failed");
+            return false;
+        }
+    }
+
+    private <T> T admitted(RequestPriority priority, Supplier<T> work) {
+        AdmissionGate gate = admissionGate.getIfAvailable();
+        return gate == null ? work.get() : gate.callAdmitted(priority, admissionWait, work);
+    }
+
+    private void writeChunk(Long spaceId, User creator, List<PendingCommitment> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Stamped at write time: a slow upload may have parsed these rows long ago
+            OffsetDateTime writtenAt = OffsetDateTime.now();
+            chunk.forEach(pending -> pending.commitment().setCreatedAt(writtenAt));
+            insertCommitments(chunk);
+
+            List<Object[]> approverRows = new ArrayList<>();
+            for (PendingCommitment pending : chunk) {
+                for (Long approverId : pending.approverIds()) {
+                    approverRows.add(new Object[] {pending.commitment().getId(), approverId});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_APPROVER, approverRows);
+
+            for (PendingCommitment pending : chunk) {
+                CommitmentEvent event = new CommitmentEvent();
+                event.setCommitment(pending.commitment());
+                event.setActor(creator);
+                event.setEventType("CREATED");
+                eventAppender.append(event);
+                searchIndex.putAfterCommit(pending.commitment());
+                if (pending.commitment().getDeadline() != null) {
+                    deadlineEngine.scheduleAfterCommit(pending.commitment());
+                }
+            }
+            spaceCounters.adjustCommitments(spaceId, chunk.size());
+        });
+    }
+
+    private void insertCommitments(List<PendingCommitment> chunk) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? ROW : ", " + ROW);
+        }
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), new String[] {"id"});
+            int index = 1;
+            for (PendingCommitment pending : chunk) {
+                Commitment commitment = pending.commitment();
+                ps.setLong(index++, commitment.getSpace().getId());
+                ps.setString(index++, commitment.getTitle());
+                ps.setString(index++, commitment.getDescription());
+                ps.setObject(index++, commitment.getDeadline());
+                ps.setString(index++, commitment.getStatus().name());
+                ps.setLong(index++, commitment.getCreatedBy().getId());
+                ps.setObject(index++, commitment.getCreatedAt());
+                ps.setInt(index++, commitment.getPendingApprovals());
+            }
+            return ps;
+        }, keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != chunk.size()) {
+            throw new DataRetrievalFailureException(
+                "Expected " + chunk.size() + " generated commitment ids, got " + keys.size());
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            chunk.get(i).commitment().setId(((Number) id).longValue());
+        }
+    }
+
+    private OffsetDateTime toOffsetDateTime(LocalDate date) {
+        return date == null ? null : date.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,31 @@
+package com.commit.commit.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.commit.commit.exception.InvalidStateException;
+
+/**
+ * Opaque keyset cursor over (score, id) for ranked commitment search.
+ * Encoded like CommitmentCursor; the score round-trips exactly through Double.toString.
+ */
+public record CommitmentSearchCursor(double score, Long id) {
+
+    public String encode() {
+        String raw = score + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommitmentSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep < 0) {
+                throw new InvalidStateException("Invalid cursor");
+            }
+            return new CommitmentSearchCursor(Double.parseDouble(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidStateException("Invalid cursor");
+        }
+    }
+}
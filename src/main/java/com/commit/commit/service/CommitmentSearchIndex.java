@@ -0,0 +1,120 @@
+package com.commit.commit.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.CommitmentText;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-space commitment text indexes, built from one query on first use and then updated with
+ * every commitment write after its transaction commits.
+ *
+ * Uses the same per-space generation scheme as MemberSearchIndex, including the check after
+ * the put, so a build that overlaps a write to its space is not cached, and builds the same way
+ * from the primary. The TTL bounds staleness from writes made by other application instances.
+ * Total size is bounded by indexed commitments.
+ */
+@Component
+public class CommitmentSearchIndex {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final CommitmentRepository commitmentRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final Cache<Long, CommitmentTextIndex> indexes;
+    private final AtomicLongArray writeGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public CommitmentSearchIndex(CommitmentRepository commitmentRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${commitment-search.max-indexed-commitments:200000}") long maxIndexedCommitments,
+                                 @Value("${commitment-search.ttl:10m}") Duration ttl) {
+        this.commitmentRepository = commitmentRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.indexes = Caffeine.newBuilder()
+            .maximumWeight(maxIndexedCommitments)
+            .<Long, CommitmentTextIndex>weigher((spaceId, index) -> Math.max(1, index.size()))
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "commitment.search");
+    }
+
+    List<CommitmentTextIndex.Hit> search(Long spaceId, String query, Set<CommitmentStatus> statuses,
+                                         CommitmentSearchCursor after, int limit) {
+        CommitmentTextIndex.Hit position = after == null ? null : new CommitmentTextIndex.Hit(after.id(), after.score());
+        return indexFor(spaceId).search(query, statuses, position, limit);
+    }
+
+    // Snapshots the commitment now; the index only sees it once the transaction commits
+    public void putAfterCommit(Commitment commitment) {
+        Long spaceId = commitment.getSpace().getId();
+        CommitmentText text = new CommitmentText(
+            commitment.getId(), commitment.getStatus(), commitment.getTitle(), commitment.getDescription());
+        afterCommit(() -> {
+            writeGenerations.incrementAndGet(stripe(spaceId));
+            CommitmentTextIndex index = indexes.getIfPresent(spaceId);
+            if (index != null) {
+                index.put(text);
+            }
+        });
+    }
+
+    private CommitmentTextIndex indexFor(Long spaceId) {
+        CommitmentTextIndex cached = indexes.getIfPresent(spaceId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(spaceId);
+        long generation = writeGenerations.get(stripe);
+        CommitmentTextIndex built = new CommitmentTextIndex(
+            primaryTransaction.execute(status -> commitmentRepository.findTextBySpaceId(spaceId)));
+        if (writeGenerations.get(stripe) == generation) {
+            CommitmentTextIndex raced = indexes.asMap().putIfAbsent(spaceId, built);
+            if (raced != null) {
+                return raced;
+            }
+            // A write between the check and the put found no index to update, so ours misses it
+            if (writeGenerations.get(stripe) != generation) {
+                indexes.asMap().remove(spaceId, built);
+            }
+        }
+        return built;
+    }
+
+    private static int stripe(Long spaceId) {
+        return Math.floorMod(Long.hashCode(spaceId), GENERATION_STRIPES);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -4,16 +4,22 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.commit.commit.dto.ApproverResponse;
+import com.commit.commit.dto.CommitmentChangesResponse;
 import com.commit.commit.dto.CommitmentHistoryResponse;
+import com.commit.commit.dto.CommitmentPageResponse;
 import com.commit.commit.dto.CommitmentResponse;
 import com.commit.commit.dto.CreateCommitmentRequest;
 import com.commit.commit.dto.PerformedByResponse;
@@ -30,33 +36,59 @@ import com.commit.commit.exception.InvalidStateException;
 import com.commit.commit.exception.NotFoundException;
 import com.commit.commit.exception.UnauthorizedException;
 import com.commit.commit.repository.CommitmentApproverRepository;
+import com.commit.commit.repository.CommitmentChange;
 import com.commit.commit.repository.CommitmentEventRepository;
 import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.CommitmentVersion;
 import com.commit.commit.repository.SpaceRepository;
 import com.commit.commit.repository.UserRepository;
 import com.commit.commit.repository.UserSpaceRepository;
 
 @Service
 public class CommitmentService {
+    private static final int MAX_PAGE_SIZE = 200;
+    // Sentinels keep every keyset/filter parameter non-null so the query plan stays stable
+    private static final OffsetDateTime CURSOR_START = OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime DEADLINE_MIN = OffsetDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime DEADLINE_MAX = CURSOR_START;
+
     private final CommitmentRepository commitmentRepository;
     private final CommitmentApproverRepository approverRepository;
     private final CommitmentEventRepository eventRepository;
     private final SpaceRepository spaceRepository;
+    private final SpaceCounters spaceCounters;
     private final UserRepository userRepository;
     private final UserSpaceRepository userSpaceRepository;
+    private final MembershipCache membershipCache;
+    private final CommitmentEventAppender eventAppender;
+    private final LockedCommitmentJsonCache lockedJsonCache;
+    private final CommitmentSearchIndex searchIndex;
+    private final DeadlineEngine deadlineEngine;
 
     public CommitmentService(CommitmentRepository commitmentRepository,
                              CommitmentApproverRepository approverRepository,
                              CommitmentEventRepository eventRepository,
                              SpaceRepository spaceRepository,
+                             SpaceCounters spaceCounters,
                              UserRepository userRepository,
-                             UserSpaceRepository userSpaceRepository) {
+                             UserSpaceRepository userSpaceRepository,
+                             MembershipCache membershipCache,
+                             CommitmentEventAppender eventAppender,
+                             LockedCommitmentJsonCache lockedJsonCache,
+                             CommitmentSearchIndex searchIndex,
+                             DeadlineEngine deadlineEngine) {
         this.commitmentRepository = commitmentRepository;
         this.approverRepository = approverRepository;
         this.eventRepository = eventRepository;
         this.spaceRepository = spaceRepository;
+        this.spaceCounters = spaceCounters;
         this.userRepository = userRepository;
         this.userSpaceRepository = userSpaceRepository;
+        this.membershipCache = membershipCache;
+        this.eventAppender = eventAppender;
+        this.lockedJsonCache = lockedJsonCache;
+        this.searchIndex = searchIndex;
+        this.deadlineEngine = deadlineEngine;
     }
 
     @Transactional
@@ -66,7 +98,7 @@ public class CommitmentService {
         Space space = spaceRepository.findById(spaceId)
             .orElseThrow(() -> new NotFoundException("Space not found"));
 
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, spaceId, MembershipStatus.APPROVED)) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
             throw new UnauthorizedException("User not member of space");
         }
 
@@ -78,10 +110,9 @@ public class CommitmentService {
             throw new NotFoundException("One or more approvers not found");
         }
 
-        for (User approver : approvers) {
-            if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(approver.getId(), spaceId, MembershipStatus.APPROVED)) {
-                throw new InvalidStateException("Approver " + approver.getId() + " not member of space");
-            }
+        List<Long> nonMembers = userSpaceRepository.findUserIdsWithoutMembership(approverIds, spaceId, MembershipStatus.APPROVED);
+        if (!nonMembers.isEmpty()) {
+            throw new InvalidStateException("Approver " + nonMembers.get(0) + " not member of space");
         }
 
         Commitment commitment = new Commitment();
@@ -92,14 +123,14 @@ public class CommitmentService {
         commitment.setStatus(CommitmentStatus.DRAFT);
         commitment.setCreatedBy(creator);
         commitment.setCreatedAt(OffsetDateTime.now());
+        commitment.setPendingApprovals(approverIds.size());
         commitment = commitmentRepository.save(commitment);
+        spaceCounters.adjustCommitments(spaceId, 1);
 
-        for (User approver : approvers) {
-            CommitmentApprover ca = new CommitmentApprover();
-            ca.setCommitment(commitment);
-            ca.setUser(approver);
-            ca.setStatus(ApproverStatus.PENDING);
-            approverRepository.save(ca);
+        // Single multi-row insert for all approvers, regardless of how many there are
+        approverRepository.insertPendingApprovers(commitment.getId(), approverIds);
+        if (commitment.getDeadline() != null) {
+            deadlineEngine.scheduleAfterCommit(commitment);
         }
 
         emitEvent(commitment, creator, "CREATED", null);
@@ -117,7 +148,11 @@ public class CommitmentService {
 
         if (request.title() != null) commitment.setTitle(request.title());
         if (request.description() != null) commitment.setDescription(request.description());
-        if (request.deadline() != null) commitment.setDeadline(toOffsetDateTime(request.deadline()));
+        if (request.deadline() != null) {
+            commitment.setDeadline(toOffsetDateTime(request.deadline()));
+            commitment.setDeadlineNotified(false);
+            deadlineEngine.scheduleAfterCommit(commitment);
+        }
 
         commitment = commitmentRepository.save(commitment);
         emitEvent(commitment, actor, "EDITED", null);
@@ -148,26 +183,28 @@ public class CommitmentService {
             throw new InvalidStateException("Can only approve commitments in REVIEW");
         }
 
-        CommitmentApprover approver = approverRepository.findByCommitmentIdAndUserId(commitmentId, userId)
-            .orElseThrow(() -> new UnauthorizedException("User is not an approver"));
-
-        if (approver.getStatus() != ApproverStatus.PENDING) {
-            throw new InvalidStateException("Already acted on this commitment");
+        // Decrements the pending count and locks at zero in one conditional UPDATE, so
+        // concurrent approvals serialize on the row and exactly one of them locks.
+        // The commitment row is locked before any approver row, the same order as reject().
+        if (commitmentRepository.recordApproval(commitmentId, CommitmentStatus.REVIEW, CommitmentStatus.LOCKED) == 0) {
+            throw new InvalidStateException("Can only approve commitments in REVIEW");
         }
 
-        approver.setStatus(ApproverStatus.APPROVED);
-        approver.setActedAt(OffsetDateTime.now());
-        approverRepository.save(approver);
+        // A caller who is not a pending approver throws here and rolls back the count above
+        int updated = approverRepository.transitionStatus(
+            commitmentId, userId, ApproverStatus.PENDING, ApproverStatus.APPROVED, OffsetDateTime.now());
+        if (updated == 0) {
+            throw approverActionError(commitmentId, userId);
+        }
+        commitment = getCommitment(commitmentId);
         emitEvent(commitment, actor, "APPROVED", null);
 
-        boolean allApproved = !approverRepository.existsByCommitmentIdAndStatusNot(commitmentId, ApproverStatus.APPROVED);
-        if (allApproved) {
-            commitment.setStatus(CommitmentStatus.LOCKED);
-            commitment = commitmentRepository.save(commitment);
+        CommitmentResponse response = toResponse(commitment);
+        if (commitment.getStatus() == CommitmentStatus.LOCKED) {
             emitEvent(commitment, actor, "LOCKED", null);
+            lockedJsonCache.putCommitmentAfterCommit(response);
         }
-
-        return toResponse(commitment);
+        return response;
     }
 
     @Transactional
@@ -179,6 +216,14 @@ public class CommitmentService {
             throw new InvalidStateException("Can only reject commitments in REVIEW");
         }
 
+        // The conditional commitment UPDATE guards against a concurrent approve/reject and
+        // takes the commitment row lock before any approver row, the same order as approve()
+        if (commitmentRepository.resetApprovals(commitmentId, CommitmentStatus.REVIEW, CommitmentStatus.DRAFT) == 0) {
+            throw new InvalidStateException("Can only reject commitments in REVIEW");
+        }
+
+        // Read under the lock, so an approval by this user that committed first is seen;
+        // throwing here rolls the reset above back
         CommitmentApprover approver = approverRepository.findByCommitmentIdAndUserId(commitmentId, userId)
             .orElseThrow(() -> new UnauthorizedException("User is not an approver"));
 
@@ -186,54 +231,212 @@ public class CommitmentService {
             throw new InvalidStateException("Already acted on this commitment");
         }
 
-        approver.setStatus(ApproverStatus.REJECTED);
-        approver.setActedAt(OffsetDateTime.now());
-        approverRepository.save(approver);
-
-        commitment.setStatus(CommitmentStatus.DRAFT);
-        commitment = commitmentRepository.save(commitment);
-
-        // Reset all approvers to PENDING
-        List<CommitmentApprover> allApprovers = approverRepository.findByCommitmentId(commitmentId);
-        for (CommitmentApprover ca : allApprovers) {
-            ca.setStatus(ApproverStatus.PENDING);
-            ca.setActedAt(null);
-            approverRepository.save(ca);
-        }
+        // Reset all approvers, the rejecting one included, to PENDING in one statement.
+        // This clears the persistence context so the response below reads the reset rows.
+        approverRepository.resetAll(commitmentId, ApproverStatus.PENDING);
+        commitment = getCommitment(commitmentId);
 
         emitEvent(commitment, actor, "REJECTED", null);
         return toResponse(commitment);
     }
 
-    public List<CommitmentResponse> getSpaceCommitments(Long userId, Long spaceId) {
+    @Transactional(readOnly = true)
+    public CommitmentPageResponse getSpaceCommitments(Long userId, Long spaceId, String cursor, int limit,
+                                                      CommitmentStatus status, LocalDate deadlineFrom, LocalDate deadlineTo) {
         getUser(userId);
         spaceRepository.findById(spaceId)
             .orElseThrow(() -> new NotFoundException("Space not found"));
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, spaceId, MembershipStatus.APPROVED)) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
+            throw new UnauthorizedException("User not member of space");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidStateException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        CommitmentCursor after = cursor == null || cursor.isBlank()
+            ? new CommitmentCursor(CURSOR_START, Long.MAX_VALUE)
+            : CommitmentCursor.decode(cursor);
+        List<CommitmentStatus> statuses = status == null ? List.of(CommitmentStatus.values()) : List.of(status);
+        boolean deadlineFiltered = deadlineFrom != null || deadlineTo != null;
+        OffsetDateTime from = deadlineFrom == null ? DEADLINE_MIN : toOffsetDateTime(deadlineFrom);
+        OffsetDateTime to = deadlineTo == null ? DEADLINE_MAX : toOffsetDateTime(deadlineTo.plusDays(1));
+
+        // Fetch one extra row to learn whether another page exists
+        List<Commitment> commitments = commitmentRepository.findPageBySpaceId(
+            spaceId, statuses, after.createdAt(), after.id(), deadlineFiltered, from, to, PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (commitments.size() > limit) {
+            commitments = commitments.subList(0, limit);
+            nextCursor = CommitmentCursor.of(commitments.get(limit - 1)).encode();
+        }
+        return new CommitmentPageResponse(toResponses(commitments), nextCursor);
+    }
+
+    /**
+     * Full-text search over titles and descriptions, best match first. Paging is keyset on
+     * (score, id); scores move slightly when the space's commitments change between pages.
+     * No transaction: an index build takes its own on the primary, and must not do so while
+     * this request already holds a pooled connection.
+     */
+    public CommitmentPageResponse searchSpaceCommitments(Long userId, Long spaceId, String query,
+                                                         List<CommitmentStatus> statuses, String cursor, int limit) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
+            if (!spaceRepository.existsById(spaceId)) {
+                throw new NotFoundException("Space not found");
+            }
             throw new UnauthorizedException("User not member of space");
         }
-        return commitmentRepository.findBySpaceIdWithDetails(spaceId).stream()
-            .map(this::toResponse)
+        if (query == null || CommitmentTextIndex.tokenize(query).isEmpty()) {
+            throw new InvalidStateException("q must contain a letter or digit");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidStateException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        CommitmentSearchCursor after = cursor == null || cursor.isBlank() ? null : CommitmentSearchCursor.decode(cursor);
+        Set<CommitmentStatus> statusFilter = statuses == null || statuses.isEmpty()
+            ? EnumSet.allOf(CommitmentStatus.class)
+            : EnumSet.copyOf(statuses);
+        List<CommitmentTextIndex.Hit> hits = searchIndex.search(spaceId, query, statusFilter, after, limit + 1);
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            CommitmentTextIndex.Hit last = hits.get(limit - 1);
+            nextCursor = new CommitmentSearchCursor(last.score(), last.id()).encode();
+        }
+        if (hits.isEmpty()) {
+            return new CommitmentPageResponse(List.of(), null);
+        }
+
+        Map<Long, Commitment> byId = commitmentRepository.findAllById(
+                hits.stream().map(CommitmentTextIndex.Hit::id).collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Commitment::getId, c -> c));
+        List<Commitment> commitments = hits.stream()
+            .map(hit -> byId.get(hit.id()))
+            .filter(c -> c != null)
             .collect(Collectors.toList());
+        return new CommitmentPageResponse(toResponses(commitments), nextCursor);
     }
 
-    public CommitmentResponse getCommitmentById(Long userId, Long commitmentId) {
-        Commitment commitment = getCommitment(commitmentId);
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, commitment.getSpace().getId(), MembershipStatus.APPROVED)) {
+    /**
+     * Current snapshots of the commitments touched by events after sinceEventId, oldest change
+     * first, plus the event id to pass as since next time.
+     *
+     * Event ids are allocated before commit, so a lower id can become visible after a higher
+     * one. The high-water mark therefore stops short of events younger than the appender's
+     * SETTLE_TIME; those commitments are simply sent again on the next call.
+     */
+    @Transactional(readOnly = true)
+    public CommitmentChangesResponse getSpaceChanges(Long userId, Long spaceId, long sinceEventId, int limit) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
             throw new UnauthorizedException("User not member of space");
         }
-        return toResponse(commitment);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidStateException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        OffsetDateTime settledBefore = OffsetDateTime.now().minus(CommitmentEventAppender.SETTLE_TIME);
+        Long settled = eventRepository.findLastSettledEventId(spaceId, sinceEventId, settledBefore);
+        List<CommitmentChange> changes = eventRepository.findChangedCommitments(
+            spaceId, sinceEventId, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        if (changes.isEmpty()) {
+            return new CommitmentChangesResponse(List.of(), sinceEventId, false);
+        }
+
+        // Everything up to the last returned change is covered: later commitments all have a newer event
+        long covered = changes.get(changes.size() - 1).lastEventId();
+        long highWaterMark = Math.max(sinceEventId, Math.min(covered, settled != null ? settled : sinceEventId));
+        // A mark held back by unsettled events would hand the client the same page again at once;
+        // the rest follows on its next regular poll
+        if (highWaterMark == sinceEventId) {
+            hasMore = false;
+        }
+
+        Map<Long, Commitment> byId = commitmentRepository.findAllById(
+                changes.stream().map(CommitmentChange::commitmentId).collect(Collectors.toList()))
+            .stream()
+            .collect(Collectors.toMap(Commitment::getId, c -> c));
+        List<Commitment> commitments = changes.stream()
+            .map(change -> byId.get(change.commitmentId()))
+            .collect(Collectors.toList());
+        return new CommitmentChangesResponse(toResponses(commitments), highWaterMark, hasMore);
     }
 
-    public List<CommitmentHistoryResponse> getCommitmentHistory(Long userId, Long commitmentId) {
-        Commitment commitment = getCommitment(commitmentId);
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, commitment.getSpace().getId(), MembershipStatus.APPROVED)) {
+    /**
+     * Serves a LOCKED commitment from its pre-encoded JSON without opening a transaction.
+     * Empty when it is not cached; callers then fall back to getCommitmentById.
+     */
+    public Optional<Versioned<CommitmentResponse>> getCachedCommitment(Long userId, Long commitmentId, String ifNoneMatch) {
+        LockedCommitmentJsonCache.Entry entry = lockedJsonCache.getCommitment(commitmentId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!membershipCache.isApprovedMember(userId, entry.spaceId())) {
             throw new UnauthorizedException("User not member of space");
         }
-        
-        return eventRepository.findByCommitmentIdWithActorOrderByCreatedAtAsc(commitmentId).stream()
+        return Optional.of(Versioned.matches(ifNoneMatch, entry.etag())
+            ? Versioned.notModified(entry.etag(), CommitmentStatus.LOCKED)
+            : Versioned.encoded(entry.etag(), CommitmentStatus.LOCKED, entry.json()));
+    }
+
+    /**
+     * Returns the commitment unless ifNoneMatch already names its current ETag, in which case
+     * only the version row is read (no approvers). Version and body come from one transaction
+     * so the ETag never describes a newer state than the body.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<CommitmentResponse> getCommitmentById(Long userId, Long commitmentId, String ifNoneMatch) {
+        CommitmentVersion version = getAuthorizedVersion(userId, commitmentId);
+        boolean locked = version.status() == CommitmentStatus.LOCKED;
+        String etag = locked ? Versioned.lockedEtag(commitmentId) : Versioned.etag("c", version);
+        if (Versioned.matches(ifNoneMatch, etag)) {
+            return Versioned.notModified(etag, version.status());
+        }
+
+        CommitmentResponse response = toResponse(getCommitment(commitmentId));
+        if (locked) {
+            return Versioned.encoded(etag, version.status(), lockedJsonCache.putCommitment(response).json());
+        }
+        return Versioned.of(etag, version.status(), response);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<CommitmentHistoryResponse>> getCommitmentHistory(Long userId, Long commitmentId,
+                                                                          String ifNoneMatch) {
+        CommitmentVersion version = getAuthorizedVersion(userId, commitmentId);
+        boolean locked = version.status() == CommitmentStatus.LOCKED;
+        String etag = Versioned.etag("h", version);
+        if (Versioned.matches(ifNoneMatch, etag)) {
+            return Versioned.notModified(etag, version.status());
+        }
+
+        LockedCommitmentJsonCache.Entry cached = locked ? lockedJsonCache.getHistory(commitmentId, etag) : null;
+        if (cached != null) {
+            return Versioned.encoded(etag, version.status(), cached.json());
+        }
+
+        List<CommitmentHistoryResponse> history = eventRepository.findByCommitmentIdWithActorOrderByCreatedAtAsc(commitmentId).stream()
             .map(this::toHistoryResponse)
             .collect(Collectors.toList());
+        if (locked) {
+            byte[] json = lockedJsonCache.putHistory(commitmentId, version.spaceId(), etag, history).json();
+            return Versioned.encoded(etag, version.status(), json);
+        }
+        return Versioned.of(etag, version.status(), history);
+    }
+
+    private CommitmentVersion getAuthorizedVersion(Long userId, Long commitmentId) {
+        CommitmentVersion version = commitmentRepository.findVersionById(commitmentId)
+            .orElseThrow(() -> new NotFoundException("Commitment not found"));
+        if (!membershipCache.isApprovedMember(userId, version.spaceId())) {
+            throw new UnauthorizedException("User not member of space");
+        }
+        return version;
     }
 
     private Commitment getCommitment(Long id) {
@@ -246,6 +449,12 @@ public class CommitmentService {
             .orElseThrow(() -> new NotFoundException("User not found"));
     }
 
+    private RuntimeException approverActionError(Long commitmentId, Long userId) {
+        return approverRepository.findByCommitmentIdAndUserId(commitmentId, userId)
+            .<RuntimeException>map(a -> new InvalidStateException("Already acted on this commitment"))
+            .orElseGet(() -> new UnauthorizedException("User is not an approver"));
+    }
+
     private OffsetDateTime toOffsetDateTime(LocalDate date) {
         return date == null ? null : date.atStartOfDay().atOffset(ZoneOffset.UTC);
     }
@@ -257,7 +466,8 @@ public class CommitmentService {
         event.setEventType(eventType);
         event.setPayload(payload);
         event.setCreatedAt(OffsetDateTime.now());
-        eventRepository.save(event);
+        eventAppender.append(event);
+        searchIndex.putAfterCommit(commitment);
     }
 
     private CommitmentHistoryResponse toHistoryResponse(CommitmentEvent event) {
@@ -270,9 +480,27 @@ public class CommitmentService {
         );
     }
 
-    private CommitmentResponse toResponse(Commitment commitment) {
-        List<ApproverResponse> approvers = approverRepository.findByCommitmentIdWithUser(commitment.getId())
+    // Loads approvers for all commitments in one query instead of one per commitment
+    private List<CommitmentResponse> toResponses(List<Commitment> commitments) {
+        if (commitments.isEmpty()) {
+            return List.of();
+        }
+        List<Long> commitmentIds = commitments.stream().map(Commitment::getId).collect(Collectors.toList());
+        Map<Long, List<CommitmentApprover>> approversByCommitment = approverRepository.findByCommitmentIdInWithUser(commitmentIds)
             .stream()
+            .collect(Collectors.groupingBy(ca -> ca.getCommitment().getId()));
+
+        return commitments.stream()
+            .map(c -> toResponse(c, approversByCommitment.getOrDefault(c.getId(), List.of())))
+            .collect(Collectors.toList());
+    }
+
+    private CommitmentResponse toResponse(Commitment commitment) {
+        return toResponse(commitment, approverRepository.findByCommitmentIdWithUser(commitment.getId()));
+    }
+
+    private CommitmentResponse toResponse(Commitment commitment, List<CommitmentApprover> commitmentApprovers) {
+        List<ApproverResponse> approvers = commitmentApprovers.stream()
             .map(a -> new ApproverResponse(a.getUser().getId(), a.getUser().getName(), a.getStatus().name(), a.getActedAt()))
             .collect(Collectors.toList());
 
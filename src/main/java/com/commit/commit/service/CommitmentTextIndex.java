@@ -0,0 +1,181 @@
+package com.commit.commit.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.repository.CommitmentText;
+
+/**
+ * In-memory inverted index over one space's commitment titles and descriptions.
+ *
+ * Terms are lower-cased runs of letters and digits. Every query term must match; the last one
+ * also matches as a prefix so results keep up while the user is typing. Hits are scored with
+ * BM25, counting a title occurrence as TITLE_WEIGHT description occurrences, and ordered by
+ * (score desc, id desc) so a page can resume after the last hit of the previous one.
+ */
+class CommitmentTextIndex {
+
+    record Hit(Long id, double score) {}
+
+    private record Doc(CommitmentStatus status, Map<String, Integer> termFrequencies, int length) {}
+
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score).reversed()
+        .thenComparing(Comparator.comparing(Hit::id).reversed());
+    private static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private long totalLength;
+
+    CommitmentTextIndex(List<CommitmentText> commitments) {
+        commitments.forEach(this::putLocked);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(CommitmentText commitment) {
+        lock.writeLock().lock();
+        try {
+            putLocked(commitment);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit hits with one of the given statuses, best first, strictly after the given
+     * position (pass null for the first page).
+     */
+    List<Hit> search(String query, Set<CommitmentStatus> statuses, Hit after, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            double averageLength = docs.isEmpty() ? 1 : (double) totalLength / docs.size();
+            List<Map<Long, Double>> termScores = new ArrayList<>(terms.size());
+            for (int i = 0; i < terms.size(); i++) {
+                Map<Long, Double> scores = scoreTerm(terms.get(i), i == terms.size() - 1, averageLength);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+                termScores.add(scores);
+            }
+            // Drive the intersection from the rarest term
+            termScores.sort(Comparator.comparingInt(Map::size));
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            candidates:
+            for (Map.Entry<Long, Double> candidate : termScores.get(0).entrySet()) {
+                Long id = candidate.getKey();
+                if (!statuses.contains(docs.get(id).status())) {
+                    continue;
+                }
+                double score = candidate.getValue();
+                for (int i = 1; i < termScores.size(); i++) {
+                    Double termScore = termScores.get(i).get(id);
+                    if (termScore == null) {
+                        continue candidates;
+                    }
+                    score += termScore;
+                }
+                Hit hit = new Hit(id, score);
+                if (after != null && BEST_FIRST.compare(hit, after) <= 0) {
+                    continue;
+                }
+                top.add(hit);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(BEST_FIRST);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // BM25 contribution per document; a prefix keeps the best of the terms it expands to
+    private Map<Long, Double> scoreTerm(String term, boolean prefix, double averageLength) {
+        Map<String, Map<Long, Integer>> matching = prefix
+            ? postings.subMap(term, true, term + Character.MAX_VALUE, false)
+            : postings.containsKey(term) ? Map.of(term, postings.get(term)) : Map.of();
+        Map<Long, Double> scores = new HashMap<>();
+        matching.values().forEach(list -> {
+            double idf = Math.log(1 + (docs.size() - list.size() + 0.5) / (list.size() + 0.5));
+            list.forEach((id, frequency) -> {
+                double norm = K1 * (1 - B + B * docs.get(id).length() / averageLength);
+                scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Math::max);
+            });
+        });
+        return scores;
+    }
+
+    private void putLocked(CommitmentText commitment) {
+        removeLocked(commitment.id());
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(commitment.title()).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(commitment.description()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        docs.put(commitment.id(), new Doc(commitment.status(), frequencies, length));
+        totalLength += length;
+        frequencies.forEach((term, frequency) ->
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(commitment.id(), frequency));
+    }
+
+    private void removeLocked(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        totalLength -= doc.length();
+        doc.termFrequencies().keySet().forEach(term -> {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
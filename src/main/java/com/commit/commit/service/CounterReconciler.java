@@ -0,0 +1,42 @@
+package com.commit.commit.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.SpaceRepository;
+
+/**
+ * Recomputes maintained counters from their source tables: Space member/commitment counts
+ * and Commitment approval counts, rewriting only rows that differ. A one-shot job for the
+ * deploy that adds the counter columns, or to repair drift: enable
+ * counters.reconcile-on-startup for that one start, while no other instance is writing. The
+ * subqueries read the statement's snapshot, so running it next to live writers (a rolling
+ * deploy) could overwrite increments they commit meanwhile.
+ */
+@Component
+@ConditionalOnProperty(name = "counters.reconcile-on-startup", havingValue = "true")
+public class CounterReconciler {
+    private static final Logger log = LoggerFactory.getLogger(CounterReconciler.class);
+
+    private final SpaceRepository spaceRepository;
+    private final CommitmentRepository commitmentRepository;
+
+    public CounterReconciler(SpaceRepository spaceRepository, CommitmentRepository commitmentRepository) {
+        this.spaceRepository = spaceRepository;
+        this.commitmentRepository = commitmentRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcile() {
+        int spaces = spaceRepository.reconcileCounters();
+        int commitments = commitmentRepository.reconcileApprovalCounters();
+        log.info("Corrected counters of {} spaces and {} commitments", spaces, commitments);
+    }
+}
@@ -0,0 +1,155 @@
+package com.commit.commit.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentEvent;
+import com.commit.commit.repository.CommitmentDeadline;
+import com.commit.commit.repository.CommitmentRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Emits a DEADLINE_PASSED event when a commitment's deadline passes.
+ *
+ * Pending deadlines are loaded into a DeadlineWheel once at startup; after that the wheel is
+ * kept current by commitment writes after they commit, and the table is never polled. A single
+ * ticker thread advances the wheel and announces due commitments in batches. Each announcement
+ * sets deadline_notified under a row lock, so every instance can run an engine and a deadline
+ * is still announced once; a failed batch is retried a little later.
+ */
+@Component
+public class DeadlineEngine {
+    private static final Logger log = LoggerFactory.getLogger(DeadlineEngine.class);
+    private static final int FIRE_BATCH_SIZE = 500;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final CommitmentRepository commitmentRepository;
+    private final CommitmentEventAppender eventAppender;
+    private final TransactionTemplate transactionTemplate;
+    private final long tickMillis;
+    private final DeadlineWheel wheel;
+    private final ScheduledExecutorService ticker;
+
+    public DeadlineEngine(CommitmentRepository commitmentRepository,
+                          CommitmentEventAppender eventAppender,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${deadline-engine.tick:1s}") Duration tick) {
+        this.commitmentRepository = commitmentRepository;
+        this.eventAppender = eventAppender;
+        this.transactionTemplate = transactionTemplate;
+        this.tickMillis = tick.toMillis();
+        this.wheel = new DeadlineWheel(currentTick());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "deadline-engine");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("deadline.wheel.scheduled", wheel, DeadlineWheel::size)
+            .description("Commitment deadlines waiting in the timing wheel")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<CommitmentDeadline> pending = commitmentRepository.findPendingDeadlines();
+        pending.forEach(d -> wheel.schedule(d.id(), dueTick(d.deadline())));
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Loaded {} pending commitment deadlines", pending.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    // Snapshots the deadline now; the wheel only sees it once the transaction commits
+    public void scheduleAfterCommit(Commitment commitment) {
+        Long commitmentId = commitment.getId();
+        OffsetDateTime deadline = commitment.getDeadline();
+        afterCommit(() -> {
+            if (deadline == null) {
+                wheel.cancel(commitmentId);
+            } else {
+                wheel.schedule(commitmentId, dueTick(deadline));
+            }
+        });
+    }
+
+    void tick() {
+        List<Long> due = wheel.advanceTo(currentTick());
+        for (int from = 0; from < due.size(); from += FIRE_BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(due.size(), from + FIRE_BATCH_SIZE));
+            try {
+                transactionTemplate.executeWithoutResult(status -> announce(batch));
+            } catch (RuntimeException e) {
+                log.warn("Failed to announce {} passed deadlines; retrying in {}", batch.size(), RETRY_DELAY, e);
+                long retryTick = currentTick() + Math.max(1, RETRY_DELAY.toMillis() / tickMillis);
+                // A deadline moved while the batch was failing keeps its newer timer
+                batch.forEach(id -> wheel.scheduleIfAbsent(id, retryTick));
+            }
+        }
+    }
+
+    private void announce(List<Long> commitmentIds) {
+        OffsetDateTime now = OffsetDateTime.now();
+        // Rows whose deadline moved later, or that another instance announced, drop out here
+        List<Commitment> due = commitmentRepository.findDueDeadlinesForUpdate(commitmentIds, now);
+        if (due.isEmpty()) {
+            return;
+        }
+        commitmentRepository.markDeadlinesNotified(due.stream().map(Commitment::getId).toList());
+        for (Commitment commitment : due) {
+            Hibernate.initialize(commitment.getCreatedBy()); // the broadcaster reads the actor's name after commit
+            CommitmentEvent event = new CommitmentEvent();
+            event.setCommitment(commitment);
+            event.setActor(commitment.getCreatedBy());
+            event.setEventType("DEADLINE_PASSED");
+            event.setCreatedAt(now);
+            eventAppender.append(event);
+        }
+    }
+
+    private long currentTick() {
+        return System.currentTimeMillis() / tickMillis;
+    }
+
+    // Rounded up, so a deadline is never announced before it has passed
+    private long dueTick(OffsetDateTime deadline) {
+        long millis = deadline.toInstant().toEpochMilli();
+        return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
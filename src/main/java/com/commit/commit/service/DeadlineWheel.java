@@ -0,0 +1,145 @@
+package com.commit.commit.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel of commitment ids keyed by due tick.
+ *
+ * LEVELS wheels of SLOTS slots each; a slot at level l spans SLOTS^l ticks. A timer goes into
+ * the lowest level whose revolution still reaches its due tick, so scheduling is O(1). As the
+ * current tick crosses a level-l slot boundary, that slot's timers are cascaded one level down,
+ * and level 0 fires on the exact tick. Stretches where the lower levels are empty are skipped
+ * up to the next boundary that can matter. Rescheduling or cancelling only replaces the id's
+ * entry in the lookup map; stale entries are dropped when their slot is reached.
+ */
+class DeadlineWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private record Timer(long id, long dueTick) {}
+
+    @SuppressWarnings("unchecked")
+    private final List<Timer>[][] wheels = new List[LEVELS][SLOTS];
+    private final int[] placedPerLevel = new int[LEVELS];
+    private final Map<Long, Timer> scheduled = new HashMap<>();
+    private final List<Timer> overdue = new ArrayList<>();
+    private long currentTick;
+
+    DeadlineWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    synchronized int size() {
+        return scheduled.size();
+    }
+
+    /** Schedules id at dueTick, replacing any earlier timer for it. Past ticks fire on the next advance. */
+    synchronized void schedule(long id, long dueTick) {
+        Timer timer = new Timer(id, dueTick);
+        scheduled.put(id, timer);
+        place(timer);
+    }
+
+    /**
+     * Schedules id at dueTick unless it already has a timer. Fired timers are forgotten, so an
+     * existing one was scheduled after id last fired and must not be replaced.
+     */
+    synchronized void scheduleIfAbsent(long id, long dueTick) {
+        if (!scheduled.containsKey(id)) {
+            schedule(id, dueTick);
+        }
+    }
+
+    synchronized void cancel(long id) {
+        scheduled.remove(id);
+    }
+
+    /** Moves the wheel forward to tick and returns the ids that fell due on the way. */
+    synchronized List<Long> advanceTo(long tick) {
+        List<Long> due = new ArrayList<>();
+        drain(overdue, due);
+        while (currentTick < tick) {
+            currentTick = Math.min(tick, nextInterestingTick());
+            // Cascade from the highest level whose slot boundary was just crossed
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    List<Timer> slot = take(level, slotIndex(currentTick, level));
+                    if (slot != null) {
+                        slot.forEach(this::place);
+                    }
+                }
+            }
+            drain(overdue, due);
+            List<Timer> slot = take(0, slotIndex(currentTick, 0));
+            if (slot != null) {
+                drain(slot, due);
+            }
+        }
+        return due;
+    }
+
+    // While levels below l are empty, nothing happens before the next level-l slot boundary
+    private long nextInterestingTick() {
+        int level = 0;
+        while (level < LEVELS && placedPerLevel[level] == 0) {
+            level++;
+        }
+        if (level == 0) {
+            return currentTick + 1;
+        }
+        long span = 1L << (SLOT_BITS * Math.min(level, LEVELS - 1));
+        return (Math.floorDiv(currentTick, span) + 1) * span;
+    }
+
+    private List<Timer> take(int level, int index) {
+        List<Timer> slot = wheels[level][index];
+        if (slot != null) {
+            wheels[level][index] = null;
+            placedPerLevel[level] -= slot.size();
+        }
+        return slot;
+    }
+
+    private void place(Timer timer) {
+        if (scheduled.get(timer.id()) != timer) {
+            return; // rescheduled or cancelled since
+        }
+        long delta = timer.dueTick() - currentTick;
+        if (delta <= 0) {
+            overdue.add(timer);
+            return;
+        }
+        // Timers beyond the top revolution park at its far end and are placed again on cascade
+        long placeAt = delta < MAX_SPAN ? timer.dueTick() : currentTick + MAX_SPAN - 1;
+        int level = 0;
+        while (placeAt - currentTick >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = slotIndex(placeAt, level);
+        if (wheels[level][index] == null) {
+            wheels[level][index] = new ArrayList<>();
+        }
+        wheels[level][index].add(timer);
+        placedPerLevel[level]++;
+    }
+
+    private void drain(List<Timer> timers, List<Long> due) {
+        for (Timer timer : timers) {
+            if (scheduled.get(timer.id()) == timer) {
+                scheduled.remove(timer.id());
+                due.add(timer.id());
+            }
+        }
+        timers.clear();
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (SLOTS - 1));
+    }
+}
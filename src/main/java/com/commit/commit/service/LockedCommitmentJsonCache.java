@@ -0,0 +1,91 @@
+package com.commit.commit.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.commit.commit.dto.CommitmentHistoryResponse;
+import com.commit.commit.dto.CommitmentResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Already-encoded UTF-8 JSON for LOCKED commitments and their history, bounded by total bytes.
+ *
+ * A LOCKED commitment body is final, so it is cached without a version and served with no
+ * database access. History can still grow after LOCKED, so its entry carries the ETag it was
+ * encoded at and is only served when that still matches the current version.
+ */
+@Component
+public class LockedCommitmentJsonCache {
+
+    public record Entry(Long spaceId, String etag, byte[] json) {}
+
+    private record Key(Long commitmentId, boolean history) {}
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Entry> cache;
+
+    public LockedCommitmentJsonCache(ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${locked-commitment-cache.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<Key, Entry>weigher((key, entry) -> entry.json().length)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "locked.commitments");
+    }
+
+    public Entry getCommitment(Long commitmentId) {
+        return cache.getIfPresent(new Key(commitmentId, false));
+    }
+
+    public Entry getHistory(Long commitmentId, String etag) {
+        Entry entry = cache.getIfPresent(new Key(commitmentId, true));
+        return entry != null && entry.etag().equals(etag) ? entry : null;
+    }
+
+    public Entry putCommitment(CommitmentResponse commitment) {
+        Entry entry = new Entry(commitment.spaceId(), Versioned.lockedEtag(commitment.id()), encode(commitment));
+        cache.put(new Key(commitment.id(), false), entry);
+        return entry;
+    }
+
+    public Entry putHistory(Long commitmentId, Long spaceId, String etag, List<CommitmentHistoryResponse> history) {
+        Entry entry = new Entry(spaceId, etag, encode(history));
+        cache.put(new Key(commitmentId, true), entry);
+        return entry;
+    }
+
+    /** Fills the commitment entry once the transaction that locked it has committed. */
+    public void putCommitmentAfterCommit(CommitmentResponse commitment) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            putCommitment(commitment);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                putCommitment(commitment);
+            }
+        });
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
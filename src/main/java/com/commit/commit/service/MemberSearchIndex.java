@@ -0,0 +1,132 @@
+package com.commit.commit.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commit.commit.dto.UserResponse;
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.UserSpaceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-space member search indexes, built from one query on first use and then kept current by
+ * membership changes after their transactions commit.
+ *
+ * Builds run outside any cache lock and are only cached if no membership write to the same
+ * space happened while they ran (the generation scheme of MembershipCache, kept per space in
+ * GENERATION_STRIPES stripes so writes elsewhere do not discard big builds). Unlike
+ * MembershipCache, writers only update an index that is already cached, so the generation is
+ * checked again after the put. Builds read from the primary in their own transaction: a lagging
+ * replica could miss a write that already passed, and the index would keep missing it until the
+ * TTL. The TTL bounds staleness from writes made by other application instances. Total size is
+ * bounded by indexed members.
+ */
+@Component
+public class MemberSearchIndex {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final UserSpaceRepository userSpaceRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final Cache<Long, SpaceMemberIndex> indexes;
+    private final AtomicLongArray writeGenerations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public MemberSearchIndex(UserSpaceRepository userSpaceRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${member-search.max-indexed-members:500000}") long maxIndexedMembers,
+                             @Value("${member-search.ttl:10m}") Duration ttl) {
+        this.userSpaceRepository = userSpaceRepository;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.indexes = Caffeine.newBuilder()
+            .maximumWeight(maxIndexedMembers)
+            .<Long, SpaceMemberIndex>weigher((spaceId, index) -> Math.max(1, index.size()))
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "member.search");
+    }
+
+    public List<UserResponse> search(Long spaceId, String query, int limit) {
+        return indexFor(spaceId).search(query, limit);
+    }
+
+    public void addAfterCommit(Long spaceId, User user) {
+        UserResponse member = new UserResponse(user.getId(), user.getName(), user.getEmail());
+        afterCommit(() -> {
+            writeGenerations.incrementAndGet(stripe(spaceId));
+            SpaceMemberIndex index = indexes.getIfPresent(spaceId);
+            if (index != null) {
+                index.add(member);
+            }
+        });
+    }
+
+    public void removeAfterCommit(Long spaceId, Long userId) {
+        afterCommit(() -> {
+            writeGenerations.incrementAndGet(stripe(spaceId));
+            SpaceMemberIndex index = indexes.getIfPresent(spaceId);
+            if (index != null) {
+                index.remove(userId);
+            }
+        });
+    }
+
+    private SpaceMemberIndex indexFor(Long spaceId) {
+        SpaceMemberIndex cached = indexes.getIfPresent(spaceId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(spaceId);
+        long generation = writeGenerations.get(stripe);
+        List<UserResponse> members = primaryTransaction.execute(status ->
+            userSpaceRepository.findBySpaceIdAndStatusWithUser(spaceId, MembershipStatus.APPROVED)
+                .stream()
+                .map(us -> new UserResponse(us.getUser().getId(), us.getUser().getName(), us.getUser().getEmail()))
+                .toList());
+        SpaceMemberIndex built = new SpaceMemberIndex(members);
+        if (writeGenerations.get(stripe) == generation) {
+            SpaceMemberIndex raced = indexes.asMap().putIfAbsent(spaceId, built);
+            if (raced != null) {
+                return raced;
+            }
+            // A write between the check and the put found no index to update, so ours misses it
+            if (writeGenerations.get(stripe) != generation) {
+                indexes.asMap().remove(spaceId, built);
+            }
+        }
+        return built;
+    }
+
+    private static int stripe(Long spaceId) {
+        return Math.floorMod(Long.hashCode(spaceId), GENERATION_STRIPES);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.commit.commit.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.repository.UserSpaceRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches (userId, spaceId) -> MembershipStatus so authorization checks skip the database.
+ *
+ * Membership writes update the cache only after their transaction commits. Loads run outside
+ * any cache lock (a database call inside Caffeine's compute would pin a virtual thread's
+ * carrier), so each load is tagged with the write generation it started in and is discarded
+ * if a write happened meanwhile; a load that read the old row therefore never overwrites the
+ * committed change. The TTL bounds staleness from writes made by other application instances.
+ */
+@Component
+public class MembershipCache {
+
+    private record Key(Long userId, Long spaceId) {}
+
+    private final UserSpaceRepository userSpaceRepository;
+    private final Cache<Key, Optional<MembershipStatus>> cache;
+    private final AtomicLong writeGeneration = new AtomicLong();
+
+    public MembershipCache(UserSpaceRepository userSpaceRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${membership-cache.max-size:50000}") long maxSize,
+                           @Value("${membership-cache.ttl:5m}") Duration ttl) {
+        this.userSpaceRepository = userSpaceRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "membership");
+    }
+
+    public Optional<MembershipStatus> getStatus(Long userId, Long spaceId) {
+        Key key = new Key(userId, spaceId);
+        Optional<MembershipStatus> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = writeGeneration.get();
+        Optional<MembershipStatus> loaded = userSpaceRepository.findStatusByUserIdAndSpaceId(userId, spaceId);
+        if (writeGeneration.get() == generation) {
+            // A write that lands after this check bumps the generation before its own put,
+            // so its value always replaces ours
+            cache.asMap().putIfAbsent(key, loaded);
+        }
+        return loaded;
+    }
+
+    public boolean isApprovedMember(Long userId, Long spaceId) {
+        return getStatus(userId, spaceId).filter(status -> status == MembershipStatus.APPROVED).isPresent();
+    }
+
+    /**
+     * Records a membership change once the surrounding transaction commits.
+     * A null status means the membership row was removed.
+     */
+    public void updateAfterCommit(Long userId, Long spaceId, MembershipStatus status) {
+        Key key = new Key(userId, spaceId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(key, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(key, status);
+            }
+        });
+    }
+
+    private void apply(Key key, MembershipStatus status) {
+        writeGeneration.incrementAndGet();
+        cache.put(key, Optional.ofNullable(status));
+    }
+}
@@ -0,0 +1,51 @@
+package com.commit.commit.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.commit.commit.entity.Space;
+import com.commit.commit.repository.SpaceRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Adjusts a space's maintained member and commitment counts.
+ *
+ * The UPDATE is native with its own query space, so Hibernate does not clear the whole spaces
+ * region on every write; only the adjusted space is evicted, once now and again after commit
+ * so a read racing the transaction cannot leave the old count cached.
+ */
+@Component
+public class SpaceCounters {
+
+    private final SpaceRepository spaceRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SpaceCounters(SpaceRepository spaceRepository, EntityManagerFactory entityManagerFactory) {
+        this.spaceRepository = spaceRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void adjustMembers(Long spaceId, int delta) {
+        spaceRepository.adjustMemberCount(spaceId, delta);
+        evict(spaceId);
+    }
+
+    public void adjustCommitments(Long spaceId, int delta) {
+        spaceRepository.adjustCommitmentCount(spaceId, delta);
+        evict(spaceId);
+    }
+
+    private void evict(Long spaceId) {
+        entityManagerFactory.getCache().evict(Space.class, spaceId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entityManagerFactory.getCache().evict(Space.class, spaceId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.commit.commit.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.commit.commit.dto.PerformedByResponse;
+import com.commit.commit.dto.SpaceEventResponse;
+import com.commit.commit.entity.CommitmentEvent;
+import com.commit.commit.repository.CommitmentEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans committed CommitmentEvents out to Server-Sent Event subscribers of their space.
+ *
+ * Streams are async servlet responses, so an idle subscriber holds no thread. Each event is
+ * encoded once. Fan-out, replays and heartbeats run on a single dispatcher thread, which owns
+ * the replay state and only ever queues events. Each subscriber has a bounded queue drained by
+ * a small writer pool, one writer per subscriber at a time, so a client that stops reading
+ * blocks at most one writer and never the dispatcher. A subscriber whose queue fills is closed;
+ * it reconnects with Last-Event-ID and has what it missed replayed.
+ */
+@Component
+public class SpaceEventBroadcaster {
+
+    private record Encoded(Long id, String name, String json) {}
+
+    private static final class Subscriber {
+        final Long userId;
+        final Long spaceId;
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> queue;
+        // Set while a writer owns the emitter; only that writer calls send or complete
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+        // Live events that arrive while a Last-Event-ID replay is pending (dispatcher thread only)
+        List<Encoded> buffered;
+
+        Subscriber(Long userId, Long spaceId, SseEmitter emitter, int queueCapacity, boolean replaying) {
+            this.userId = userId;
+            this.spaceId = spaceId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.buffered = replaying ? new ArrayList<>() : null;
+        }
+    }
+
+    private final CommitmentEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryTransaction;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService writers;
+    private final Counter overflowed;
+    private final long timeoutMillis;
+    private final int replayLimit;
+    private final int queueCapacity;
+
+    public SpaceEventBroadcaster(CommitmentEventRepository eventRepository, ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${space-events.timeout:30m}") Duration timeout,
+                                 @Value("${space-events.heartbeat:25s}") Duration heartbeat,
+                                 @Value("${space-events.replay-limit:500}") int replayLimit,
+                                 @Value("${space-events.queue-capacity:1024}") int queueCapacity,
+                                 @Value("${space-events.writer-threads:8}") int writerThreads) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        // Read-write so the replay runs on the primary; a lagging replica could miss committed events
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.timeoutMillis = timeout.toMillis();
+        this.replayLimit = replayLimit;
+        this.queueCapacity = queueCapacity;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "space-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger writerCount = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "space-events-writer-" + writerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        Gauge.builder("space.events.subscribers", subscribers,
+                s -> s.values().stream().mapToInt(Set::size).sum())
+            .description("Open Server-Sent Event streams")
+            .register(meterRegistry);
+        this.overflowed = Counter.builder("space.events.overflowed")
+            .description("Streams closed because the client fell too far behind")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for an already-authorized member. With lastEventId, events committed after
+     * it are replayed first; if more than replay-limit were missed a single "reset" event tells
+     * the client to refetch instead. Since a lower id can commit after a higher one, the replay
+     * also covers lower ids created within SETTLE_TIME of lastEventId, so a few events the client
+     * already has may arrive again; clients skip ids they have seen.
+     */
+    public SseEmitter subscribe(Long userId, Long spaceId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, spaceId, emitter, queueCapacity, lastEventId != null);
+        emitter.onCompletion(() -> closed(subscriber));
+        emitter.onTimeout(() -> closed(subscriber));
+        emitter.onError(e -> closed(subscriber));
+        subscribers.compute(spaceId, (id, set) -> {
+            Set<Subscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+
+        if (lastEventId != null) {
+            // Registered first, so anything committed while this query runs is buffered, not lost.
+            // An unknown lastEventId has no stragglers to look back for.
+            List<Encoded> missed = primaryTransaction.execute(status -> {
+                OffsetDateTime createdAfter = eventRepository.findCreatedAtById(lastEventId)
+                    .map(createdAt -> createdAt.minus(CommitmentEventAppender.SETTLE_TIME))
+                    .orElseGet(OffsetDateTime::now);
+                return eventRepository.findForReplay(spaceId, lastEventId, createdAfter, PageRequest.of(0, replayLimit + 1))
+                    .stream().map(this::encode).toList();
+            });
+            dispatcher.execute(() -> replay(subscriber, missed));
+        }
+        return emitter;
+    }
+
+    /** Called once the events' transaction has committed and their ids are known. */
+    public void publish(List<CommitmentEvent> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (CommitmentEvent event : events) {
+            Long spaceId = event.getCommitment().getSpace().getId();
+            if (!subscribers.containsKey(spaceId)) {
+                continue;
+            }
+            Encoded encoded = encode(event);
+            dispatcher.execute(() -> fanOut(spaceId, encoded));
+        }
+    }
+
+    /** Closes a user's streams for a space after the transaction removing their membership commits. */
+    public void disconnectAfterCommit(Long userId, Long spaceId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatcher.execute(() -> disconnect(userId, spaceId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.execute(() -> disconnect(userId, spaceId));
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        writers.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void replay(Subscriber subscriber, List<Encoded> missed) {
+        if (missed.size() > replayLimit) {
+            enqueue(subscriber, SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON));
+        } else {
+            missed.forEach(event -> enqueue(subscriber, event));
+        }
+        // Ids are not commit-ordered, so skip exactly the buffered events the query already returned
+        Set<Long> replayed = new HashSet<>();
+        missed.forEach(event -> replayed.add(event.id()));
+        List<Encoded> buffered = subscriber.buffered;
+        subscriber.buffered = null;
+        for (Encoded event : buffered) {
+            if (!replayed.contains(event.id())) {
+                enqueue(subscriber, event);
+            }
+        }
+    }
+
+    private void fanOut(Long spaceId, Encoded event) {
+        for (Subscriber subscriber : subscribers.getOrDefault(spaceId, Set.of())) {
+            if (subscriber.buffered != null) {
+                subscriber.buffered.add(event);
+            } else {
+                enqueue(subscriber, event);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Set<Subscriber> set : subscribers.values()) {
+            for (Subscriber subscriber : set) {
+                enqueue(subscriber, SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+    private void disconnect(Long userId, Long spaceId) {
+        for (Subscriber subscriber : subscribers.getOrDefault(spaceId, Set.of())) {
+            if (subscriber.userId.equals(userId)) {
+                close(subscriber);
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, Encoded event) {
+        enqueue(subscriber, SseEmitter.event()
+            .id(event.id().toString())
+            .name(event.name())
+            .data(event.json(), MediaType.APPLICATION_JSON));
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            overflowed.increment();
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    // The emitter's send and complete are synchronized, so closing is also left to the writer
+    private void close(Subscriber subscriber) {
+        closed(subscriber);
+        scheduleDrain(subscriber);
+    }
+
+    private void closed(Subscriber subscriber) {
+        subscriber.closed = true;
+        remove(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                send(subscriber, event);
+            }
+            if (subscriber.closed) {
+                // draining stays set, so no writer is scheduled for this subscriber again
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // An event queued after the last poll may have seen draining still set
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        try {
+            subscriber.emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container reports completion asynchronously
+            closed(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.spaceId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private Encoded encode(CommitmentEvent event) {
+        SpaceEventResponse response = new SpaceEventResponse(
+            event.getId(),
+            event.getCommitment().getId(),
+            event.getEventType(),
+            new PerformedByResponse(event.getActor().getId(), event.getActor().getName()),
+            event.getCreatedAt(),
+            event.getPayload()
+        );
+        try {
+            return new Encoded(event.getId(), event.getEventType(), objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode event " + event.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.commit.commit.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.commit.commit.admission.AdmissionGate;
+import com.commit.commit.admission.RequestPriority;
+import com.commit.commit.entity.Space;
+import com.commit.commit.exception.NotFoundException;
+import com.commit.commit.exception.ServerBusyException;
+import com.commit.commit.exception.UnauthorizedException;
+import com.commit.commit.repository.SpaceRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * NDJSON export of a space: a space line, one line per commitment with its approvers, one line
+ * per commitment event, and an end line with counts so a truncated download is detectable.
+ *
+ * Rows are read in keyset pages, each from a forward-only cursor in its own short read-only
+ * transaction, encoded into a page buffer, and written to the client only after the connection
+ * is back in the pool. A slow client therefore never pins a connection, and heap stays bounded
+ * by one page. The export covers the commitments and events that existed when it started.
+ *
+ * Pages are read after the request's admission permit was released, so each page transaction
+ * takes its own permit at list priority; a busy server aborts the export, leaving out the end
+ * line, rather than exceed the pool.
+ */
+@Service
+public class SpaceExportService {
+
+    private static final String MARKS_SQL =
+        "SELECT (SELECT MAX(c.id) FROM commitments c WHERE c.space_id = ?), " +
+        "(SELECT MAX(e.id) FROM commitment_events e JOIN commitments c ON c.id = e.commitment_id WHERE c.space_id = ?)";
+    private static final String COMMITMENTS_SQL =
+        "SELECT c.id, c.title, c.description, c.status, c.created_by, c.created_at, c.deadline, " +
+        "c.pending_approvals, c.approved_count, ca.user_id, ca.status, ca.acted_at " +
+        "FROM (SELECT * FROM commitments WHERE space_id = ? AND id > ? AND id <= ? ORDER BY id LIMIT ?) c " +
+        "LEFT JOIN commitment_approvers ca ON ca.commitment_id = c.id " +
+        "ORDER BY c.id, ca.user_id";
+    private static final String EVENTS_SQL =
+        "SELECT e.id, e.commitment_id, e.actor_user_id, e.event_type, e.payload, e.created_at " +
+        "FROM commitment_events e JOIN commitments c ON c.id = e.commitment_id " +
+        "WHERE c.space_id = ? AND e.id > ? AND e.id <= ? ORDER BY e.id LIMIT ?";
+
+    private record Page(byte[] lines, int rows, long lastId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SpaceRepository spaceRepository;
+    private final MembershipCache membershipCache;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<AdmissionGate> admissionGate;
+    private final int pageSize;
+    private final Duration admissionWait;
+
+    public SpaceExportService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              SpaceRepository spaceRepository,
+                              MembershipCache membershipCache,
+                              ObjectMapper objectMapper,
+                              ObjectProvider<AdmissionGate> admissionGate,
+                              @Value("${space-export.page-size:500}") int pageSize,
+                              @Value("${space-export.admission-wait:30s}") Duration admissionWait) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.spaceRepository = spaceRepository;
+        this.membershipCache = membershipCache;
+        this.objectMapper = objectMapper;
+        this.admissionGate = admissionGate;
+        this.pageSize = pageSize;
+        this.admissionWait = admissionWait;
+    }
+
+    /** Whether an Accept-Encoding header accepts gzip, honouring q-values such as "gzip;q=0". */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].strip();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).strip());
+                    } catch (NumberFormatException e) {
+                        quality = 0; // unreadable weight: do not take it as acceptance
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                any = quality;
+            }
+        }
+        // An explicit gzip entry wins over the wildcard
+        Double quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    /** Authorizes now; the returned body does the reading and writing once the response starts. */
+    public StreamingResponseBody exportSpace(Long userId, Long spaceId, boolean gzip) {
+        Space space = spaceRepository.findById(spaceId)
+            .orElseThrow(() -> new NotFoundException("Space not found"));
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
+            throw new UnauthorizedException("User not member of space");
+        }
+
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            writeExport(space, target);
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            out.flush();
+        };
+    }
+
+    private void writeExport(Space space, OutputStream out) throws IOException {
+        long[] marks = admitted(() -> readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(MARKS_SQL,
+            (rs, i) -> new long[] {rs.getLong(1), rs.getLong(2)}, space.getId(), space.getId())));
+
+        writeLine(out, json -> {
+            json.writeStringField("type", "space");
+            json.writeNumberField("id", space.getId());
+            json.writeStringField("name", space.getName());
+            json.writeStringField("description", space.getDescription());
+            json.writeNumberField("createdBy", space.getCreatedBy().getId());
+            json.writeObjectField("createdAt", space.getCreatedAt());
+            json.writeObjectField("exportedAt", OffsetDateTime.now());
+        });
+
+        long commitments = 0;
+        Page page;
+        long after = 0;
+        do {
+            page = readCommitments(space.getId(), after, marks[0]);
+            out.write(page.lines());
+            commitments += page.rows();
+            after = page.lastId();
+        } while (page.rows() == pageSize);
+
+        long events = 0;
+        after = 0;
+        do {
+            page = readEvents(space.getId(), after, marks[1]);
+            out.write(page.lines());
+            events += page.rows();
+            after = page.lastId();
+        } while (page.rows() == pageSize);
+
+        long exportedCommitments = commitments;
+        long exportedEvents = events;
+        writeLine(out, json -> {
+            json.writeStringField("type", "end");
+            json.writeNumberField("commitments", exportedCommitments);
+            json.writeNumberField("events", exportedEvents);
+        });
+    }
+
+    // Approvers arrive as consecutive join rows of their commitment, so each line closes on the next id
+    private Page readCommitments(Long spaceId, long afterId, long maxId) throws IOException {
+        return readPage(COMMITMENTS_SQL, spaceId, afterId, maxId, (rs, json, state) -> {
+            long id = rs.getLong(1);
+            if (state.rows == 0 || id != state.lastId) {
+                if (state.rows > 0) {
+                    endObjectLine(json);
+                }
+                state.rows++;
+                state.lastId = id;
+                json.writeStartObject();
+                json.writeStringField("type", "commitment");
+                json.writeNumberField("id", id);
+                json.writeStringField("title", rs.getString(2));
+                json.writeStringField("description", rs.getString(3));
+                json.writeStringField("status", rs.getString(4));
+                json.writeNumberField("createdBy", rs.getLong(5));
+                json.writeObjectField("createdAt", rs.getObject(6, OffsetDateTime.class));
+                json.writeObjectField("deadline", rs.getObject(7, OffsetDateTime.class));
+                json.writeNumberField("pendingApprovals", rs.getInt(8));
+                json.writeNumberField("approvedCount", rs.getInt(9));
+                json.writeArrayFieldStart("approvers");
+            }
+            long userId = rs.getLong(10);
+            if (!rs.wasNull()) {
+                json.writeStartObject();
+                json.writeNumberField("userId", userId);
+                json.writeStringField("status", rs.getString(11));
+                json.writeObjectField("actedAt", rs.getObject(12, OffsetDateTime.class));
+                json.writeEndObject();
+            }
+        }, true);
+    }
+
+    private Page readEvents(Long spaceId, long afterId, long maxId) throws IOException {
+        return readPage(EVENTS_SQL, spaceId, afterId, maxId, (rs, json, state) -> {
+            state.rows++;
+            state.lastId = rs.getLong(1);
+            json.writeStartObject();
+            json.writeStringField("type", "event");
+            json.writeNumberField("id", state.lastId);
+            json.writeNumberField("commitmentId", rs.getLong(2));
+            json.writeNumberField("actorId", rs.getLong(3));
+            json.writeStringField("eventType", rs.getString(4));
+            json.writeStringField("payload", rs.getString(5));
+            json.writeObjectField("createdAt", rs.getObject(6, OffsetDateTime.class));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }, false);
+    }
+
+    private Page readPage(String sql, Long spaceId, long afterId, long maxId, RowWriter writer, boolean openObjectPerId)
+            throws IOException {
+        if (afterId >= maxId) {
+            return new Page(new byte[0], 0, afterId);
+        }
+        return admitted(() -> readOnlyTransaction.execute(status -> {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            PageState state = new PageState();
+            try (JsonGenerator json = lineGenerator(buffer)) {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(pageSize);
+                    ps.setLong(1, spaceId);
+                    ps.setLong(2, afterId);
+                    ps.setLong(3, maxId);
+                    ps.setInt(4, pageSize);
+                    return ps;
+                }, rs -> {
+                    try {
+                        writer.write(rs, json, state);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (openObjectPerId && state.rows > 0) {
+                    endObjectLine(json);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Page(buffer.toByteArray(), state.rows, state.rows > 0 ? state.lastId : maxId);
+        }));
+    }
+
+    // Holds an admission permit for exactly as long as the read holds a connection
+    private <T> T admitted(Supplier<T> read) throws IOException {
+        AdmissionGate gate = admissionGate.getIfAvailable();
+        if (gate == null) {
+            return read.get();
+        }
+        try {
+            return gate.callAdmitted(RequestPriority.LIST, admissionWait, read);
+        } catch (ServerBusyException e) {
+            throw new IOException("Export aborted: " + e.getMessage(), e);
+        }
+    }
+
+    private static void endObjectLine(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeLine(OutputStream out, FieldWriter fields) throws IOException {
+        JsonGenerator json = lineGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        fields.write(json);
+        json.writeEndObject();
+        json.writeRaw('\n');
+        json.close();
+    }
+
+    // Lines end with an explicit newline, so no separator between root values
+    private JsonGenerator lineGenerator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.setRootValueSeparator(null);
+        return json;
+    }
+
+    private static final class PageState {
+        int rows;
+        long lastId;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ResultSet rs, JsonGenerator json, PageState state) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+}
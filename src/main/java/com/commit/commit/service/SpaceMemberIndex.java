@@ -0,0 +1,235 @@
+package com.commit.commit.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.commit.commit.dto.UserResponse;
+
+/**
+ * In-memory n-gram index over one space's approved members (name and email, case-insensitive).
+ *
+ * Every 2- and 3-character substring maps to a posting list of member slots. A query looks up
+ * the posting lists of its own n-grams, scans only the shortest one, and verifies each
+ * candidate with a substring check. One-character queries match word prefixes only, through
+ * a separate posting list per leading character. Removed members leave a dead slot behind
+ * until dead slots outnumber live ones.
+ */
+class SpaceMemberIndex {
+
+    private record Member(Long id, String name, String email, String nameKey, String emailKey) {}
+
+    private record Scored(Member member, int rank) {}
+
+    private static final Comparator<Scored> BEST_FIRST = (a, b) -> compare(a.member(), a.rank(), b.member(), b.rank());
+    private static final char WORD_START = '^';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotByUserId = new HashMap<>();
+    private Member[] slots = new Member[16];
+    private int slotCount;
+
+    SpaceMemberIndex(List<UserResponse> members) {
+        members.forEach(this::addLocked);
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slotByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void add(UserResponse user) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(user.id());
+            addLocked(user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(userId);
+            if (slotCount - slotByUserId.size() > Math.max(16, slotByUserId.size())) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches: exact name, name prefix, word prefix in name, email prefix, then any
+     * substring of name or email. Ties go to shorter names, then alphabetical.
+     */
+    List<UserResponse> search(String query, int limit) {
+        String key = normalize(query);
+        String wordKey = " " + key;
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+            if (key.isEmpty()) {
+                forEachLive(member -> offer(top, member, 0, limit));
+            } else {
+                Postings candidates = key.length() == 1 ? postings.get(WORD_START + key) : rarestPostings(key);
+                if (candidates == null) {
+                    return List.of();
+                }
+                for (int i = 0; i < candidates.size; i++) {
+                    Member member = slots[candidates.slots[i]];
+                    int rank = member == null ? -1 : rank(member, key, wordKey);
+                    if (rank >= 0) {
+                        offer(top, member, rank, limit);
+                    }
+                }
+            }
+
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(BEST_FIRST);
+            return ranked.stream()
+                .map(s -> new UserResponse(s.member().id(), s.member().name(), s.member().email()))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Postings rarestPostings(String key) {
+        int n = Math.min(3, key.length());
+        Postings rarest = null;
+        for (int i = 0; i + n <= key.length(); i++) {
+            Postings list = postings.get(key.substring(i, i + n));
+            if (list == null) {
+                return null; // some n-gram of the query occurs in no member
+            }
+            if (rarest == null || list.size < rarest.size) {
+                rarest = list;
+            }
+        }
+        return rarest;
+    }
+
+    private static int rank(Member member, String key, String wordKey) {
+        String name = member.nameKey();
+        int at = name.indexOf(key);
+        if (at == 0) {
+            return name.length() == key.length() ? 0 : 1;
+        }
+        if (at > 0 && name.indexOf(wordKey, at - 1) >= 0) {
+            return 2;
+        }
+        if (member.emailKey().startsWith(key)) {
+            return 3;
+        }
+        if (at > 0) {
+            return 4;
+        }
+        return member.emailKey().indexOf(key) >= 0 ? 5 : -1;
+    }
+
+    private static void offer(PriorityQueue<Scored> top, Member member, int rank, int limit) {
+        if (top.size() == limit) {
+            Scored worst = top.peek();
+            if (compare(member, rank, worst.member(), worst.rank()) >= 0) {
+                return;
+            }
+            top.poll();
+        }
+        top.add(new Scored(member, rank));
+    }
+
+    private static int compare(Member a, int rankA, Member b, int rankB) {
+        int c = Integer.compare(rankA, rankB);
+        if (c == 0) {
+            c = Integer.compare(a.name().length(), b.name().length());
+        }
+        if (c == 0) {
+            c = a.nameKey().compareTo(b.nameKey());
+        }
+        return c != 0 ? c : a.id().compareTo(b.id());
+    }
+
+    private void forEachLive(Consumer<Member> action) {
+        for (int i = 0; i < slotCount; i++) {
+            if (slots[i] != null) {
+                action.accept(slots[i]);
+            }
+        }
+    }
+
+    private void addLocked(UserResponse user) {
+        Member member = new Member(user.id(), user.name(), user.email(), normalize(user.name()), normalize(user.email()));
+        if (slotCount == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        int slot = slotCount++;
+        slots[slot] = member;
+        slotByUserId.put(member.id(), slot);
+        indexGrams(member.nameKey(), slot);
+        indexGrams(member.emailKey(), slot);
+    }
+
+    private void indexGrams(String text, int slot) {
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                postings.computeIfAbsent(WORD_START + text.substring(i, i + 1), g -> new Postings()).addOnce(slot);
+            }
+        }
+        for (int n = 2; n <= 3; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                postings.computeIfAbsent(text.substring(i, i + n), g -> new Postings()).addOnce(slot);
+            }
+        }
+    }
+
+    private void removeLocked(Long userId) {
+        Integer slot = slotByUserId.remove(userId);
+        if (slot != null) {
+            slots[slot] = null;
+        }
+    }
+
+    private void compactLocked() {
+        List<Member> live = new ArrayList<>(slotByUserId.size());
+        forEachLive(live::add);
+        postings.clear();
+        slotByUserId.clear();
+        slots = new Member[Math.max(16, live.size() * 2)];
+        slotCount = 0;
+        live.forEach(m -> addLocked(new UserResponse(m.id(), m.name(), m.email())));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Growable, ascending int list; slots are assigned in increasing order. */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void addOnce(int slot) {
+            if (size > 0 && slots[size - 1] == slot) {
+                return; // same n-gram seen twice in one member
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
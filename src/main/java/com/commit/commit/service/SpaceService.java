@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.commit.commit.dto.CreateSpaceRequest;
 import com.commit.commit.dto.InviteResponse;
@@ -29,17 +30,29 @@ import com.commit.commit.repository.UserSpaceRepository;
 
 @Service
 public class SpaceService {
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final SpaceRepository spaceRepository;
+    private final SpaceCounters spaceCounters;
     private final UserRepository userRepository;
     private final UserSpaceRepository userSpaceRepository;
     private final CommitmentRepository commitmentRepository;
+    private final MembershipCache membershipCache;
+    private final SpaceEventBroadcaster eventBroadcaster;
+    private final MemberSearchIndex memberSearchIndex;
 
-    public SpaceService(SpaceRepository spaceRepository, UserRepository userRepository, 
-                        UserSpaceRepository userSpaceRepository, CommitmentRepository commitmentRepository) {
+    public SpaceService(SpaceRepository spaceRepository, SpaceCounters spaceCounters, UserRepository userRepository,
+                        UserSpaceRepository userSpaceRepository, CommitmentRepository commitmentRepository,
+                        MembershipCache membershipCache, SpaceEventBroadcaster eventBroadcaster,
+                        MemberSearchIndex memberSearchIndex) {
         this.spaceRepository = spaceRepository;
+        this.spaceCounters = spaceCounters;
         this.userRepository = userRepository;
         this.userSpaceRepository = userSpaceRepository;
         this.commitmentRepository = commitmentRepository;
+        this.membershipCache = membershipCache;
+        this.eventBroadcaster = eventBroadcaster;
+        this.memberSearchIndex = memberSearchIndex;
     }
 
     @Transactional
@@ -51,6 +64,7 @@ public class SpaceService {
         space.setDescription(request.description());
         space.setCreatedBy(user);
         space.setCreatedAt(OffsetDateTime.now());
+        space.setMemberCount(1);
         space = spaceRepository.save(space);
 
         UserSpace userSpace = new UserSpace();
@@ -59,6 +73,7 @@ public class SpaceService {
         userSpace.setStatus(MembershipStatus.APPROVED);
         userSpace.setJoinedAt(OffsetDateTime.now());
         userSpaceRepository.save(userSpace);
+        membershipCache.updateAfterCommit(userId, space.getId(), MembershipStatus.APPROVED);
 
         return toResponse(space);
     }
@@ -69,7 +84,7 @@ public class SpaceService {
             .orElseThrow(() -> new NotFoundException("Space not found"));
 
         // Check inviter is approved member
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(inviterId, spaceId, MembershipStatus.APPROVED)) {
+        if (!membershipCache.isApprovedMember(inviterId, spaceId)) {
             throw new UnauthorizedException("Only approved members can invite");
         }
 
@@ -92,6 +107,7 @@ public class SpaceService {
             membership.setStatus(MembershipStatus.PENDING);
             membership.setJoinedAt(OffsetDateTime.now());
             userSpaceRepository.save(membership);
+            membershipCache.updateAfterCommit(invitee.getId(), spaceId, MembershipStatus.PENDING);
             return;
         }
 
@@ -102,8 +118,10 @@ public class SpaceService {
         userSpace.setStatus(MembershipStatus.PENDING);
         userSpace.setJoinedAt(OffsetDateTime.now());
         userSpaceRepository.save(userSpace);
+        membershipCache.updateAfterCommit(invitee.getId(), spaceId, MembershipStatus.PENDING);
     }
 
+    @Transactional(readOnly = true)
     public List<InviteResponse> getPendingInvites(Long userId) {
         getUser(userId);
         return userSpaceRepository.findByUserIdAndStatusWithSpaceOnly(userId, MembershipStatus.PENDING).stream()
@@ -120,9 +138,14 @@ public class SpaceService {
             throw new InvalidStateException("Invite is not pending");
         }
 
-        invite.setStatus(MembershipStatus.APPROVED);
-        invite.setJoinedAt(OffsetDateTime.now());
-        userSpaceRepository.save(invite);
+        // Conditional, so of two concurrent accepts only one counts the member
+        if (userSpaceRepository.transitionStatus(invite.getId(), MembershipStatus.PENDING,
+                MembershipStatus.APPROVED, OffsetDateTime.now()) != 1) {
+            throw new InvalidStateException("Invite is not pending");
+        }
+        spaceCounters.adjustMembers(invite.getSpace().getId(), 1);
+        membershipCache.updateAfterCommit(userId, invite.getSpace().getId(), MembershipStatus.APPROVED);
+        memberSearchIndex.addAfterCommit(invite.getSpace().getId(), invite.getUser());
     }
 
     @Transactional
@@ -134,10 +157,15 @@ public class SpaceService {
             throw new InvalidStateException("Invite is not pending");
         }
 
-        invite.setStatus(MembershipStatus.REJECTED);
-        userSpaceRepository.save(invite);
+        // Must not overwrite a concurrent accept that was already counted
+        if (userSpaceRepository.transitionStatus(invite.getId(), MembershipStatus.PENDING,
+                MembershipStatus.REJECTED, invite.getJoinedAt()) != 1) {
+            throw new InvalidStateException("Invite is not pending");
+        }
+        membershipCache.updateAfterCommit(userId, invite.getSpace().getId(), MembershipStatus.REJECTED);
     }
 
+    @Transactional(readOnly = true)
     public List<SpaceResponse> getUserSpaces(Long userId) {
         getUser(userId);
         return userSpaceRepository.findByUserIdAndStatusWithSpace(userId, MembershipStatus.APPROVED).stream()
@@ -145,6 +173,7 @@ public class SpaceService {
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public SpaceResponse getSpace(Long spaceId) {
         Space space = spaceRepository.findById(spaceId)
             .orElseThrow(() -> new NotFoundException("Space not found"));
@@ -152,14 +181,15 @@ public class SpaceService {
     }
 
     public boolean isApprovedMember(Long userId, Long spaceId) {
-        return userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, spaceId, MembershipStatus.APPROVED);
+        return membershipCache.isApprovedMember(userId, spaceId);
     }
 
+    @Transactional(readOnly = true)
     public List<SpaceMemberResponse> getSpaceMembers(Long userId, Long spaceId) {
         Space space = spaceRepository.findById(spaceId)
             .orElseThrow(() -> new NotFoundException("Space not found"));
         
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, spaceId, MembershipStatus.APPROVED)) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
             throw new UnauthorizedException("User not member of space");
         }
         
@@ -168,24 +198,20 @@ public class SpaceService {
             .collect(Collectors.toList());
     }
 
-    public List<UserResponse> searchSpaceMembers(Long userId, Long spaceId, String query) {
-        spaceRepository.findById(spaceId)
-            .orElseThrow(() -> new NotFoundException("Space not found"));
-        
-        if (!userSpaceRepository.existsByUserIdAndSpaceIdAndStatus(userId, spaceId, MembershipStatus.APPROVED)) {
+    // No transaction: once the space's index is built this touches neither the pool nor the database
+    public List<UserResponse> searchSpaceMembers(Long userId, Long spaceId, String query, int limit) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
+            // Only a non-member can be asking about a space that does not exist
+            if (!spaceRepository.existsById(spaceId)) {
+                throw new NotFoundException("Space not found");
+            }
             throw new UnauthorizedException("User not member of space");
         }
-        
-        List<UserSpace> members;
-        if (query == null || query.trim().isEmpty()) {
-            members = userSpaceRepository.findBySpaceIdAndStatusWithUser(spaceId, MembershipStatus.APPROVED);
-        } else {
-            members = userSpaceRepository.searchMembersByQuery(spaceId, MembershipStatus.APPROVED, query.trim());
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new InvalidStateException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
         }
         
-        return members.stream()
-            .map(us -> new UserResponse(us.getUser().getId(), us.getUser().getName(), us.getUser().getEmail()))
-            .collect(Collectors.toList());
+        return memberSearchIndex.search(spaceId, query, limit);
     }
 
     @Transactional
@@ -211,6 +237,17 @@ public class SpaceService {
         }
         
         userSpaceRepository.delete(membership);
+        spaceCounters.adjustMembers(spaceId, -1);
+        membershipCache.updateAfterCommit(userId, spaceId, null);
+        eventBroadcaster.disconnectAfterCommit(userId, spaceId);
+        memberSearchIndex.removeAfterCommit(spaceId, userId);
+    }
+
+    public SseEmitter streamEvents(Long userId, Long spaceId, Long lastEventId) {
+        if (!membershipCache.isApprovedMember(userId, spaceId)) {
+            throw new UnauthorizedException("User not member of space");
+        }
+        return eventBroadcaster.subscribe(userId, spaceId, lastEventId);
     }
 
     private SpaceMemberResponse toMemberResponse(UserSpace us, Space space) {
@@ -230,17 +267,14 @@ public class SpaceService {
     }
 
     private SpaceResponse toResponse(Space space) {
-        int memberCount = userSpaceRepository.countBySpaceIdAndStatus(space.getId(), MembershipStatus.APPROVED);
-        int commitmentCount = commitmentRepository.countBySpaceId(space.getId());
-        
         return new SpaceResponse(
             space.getId(),
             space.getName(),
             space.getDescription(),
             space.getCreatedBy().getId(),
             space.getCreatedAt(),
-            memberCount,
-            commitmentCount
+            space.getMemberCount(),
+            space.getCommitmentCount()
         );
     }
 
@@ -0,0 +1,49 @@
+package com.commit.commit.service;
+
+import java.util.Arrays;
+
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.repository.CommitmentVersion;
+
+/**
+ * A read result tagged with its strong ETag. Carries either a body to serialize, already-encoded
+ * JSON, or neither when the caller's If-None-Match already names the current version.
+ */
+public record Versioned<T>(String etag, CommitmentStatus status, T body, byte[] json) {
+
+    static <T> Versioned<T> of(String etag, CommitmentStatus status, T body) {
+        return new Versioned<>(etag, status, body, null);
+    }
+
+    static <T> Versioned<T> encoded(String etag, CommitmentStatus status, byte[] json) {
+        return new Versioned<>(etag, status, null, json);
+    }
+
+    static <T> Versioned<T> notModified(String etag, CommitmentStatus status) {
+        return new Versioned<>(etag, status, null, null);
+    }
+
+    public boolean notModified() {
+        return body == null && json == null;
+    }
+
+    static String etag(String kind, CommitmentVersion version) {
+        return "\"" + kind + "-" + version.commitmentId() + "-"
+            + (version.lastEventId() != null ? version.lastEventId() : 0) + "-" + version.eventCount() + "\"";
+    }
+
+    // A LOCKED commitment body never changes again
+    static String lockedEtag(Long commitmentId) {
+        return "\"c-" + commitmentId + "-locked\"";
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
@@ -0,0 +1,41 @@
+package com.commit.commit;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.UserRepository;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+
+/**
+ * Base for tests that run the services against the H2 test profile. Firebase is mocked out,
+ * and users are registered directly with a unique firebase uid. Tests that need extra settings
+ * add them with @TestPropertySource.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+public abstract class ServiceTestSupport {
+
+    @MockBean
+    private FirebaseApp firebaseApp;
+
+    @MockBean
+    private FirebaseAuth firebaseAuth;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    protected User createUser(String name) {
+        User user = new User();
+        user.setFirebaseUid(name + "-" + System.nanoTime());
+        user.setName(name);
+        user.setEmail(user.getFirebaseUid() + "@example.com");
+        user.setCreatedAt(OffsetDateTime.now());
+        return userRepository.save(user);
+    }
+}
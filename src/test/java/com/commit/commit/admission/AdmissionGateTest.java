@@ -0,0 +1,94 @@
+package com.commit.commit.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AdmissionGateTest {
+
+    @Test
+    void queuedWritesAreAdmittedBeforeReads() throws Exception {
+        AdmissionGate gate = new AdmissionGate(1, 10);
+        assertEquals(AdmissionGate.Outcome.ADMITTED, gate.acquire(RequestPriority.READ, 1, TimeUnit.SECONDS));
+
+        List<RequestPriority> order = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<?> list = executor.submit(() -> admitAndRecord(gate, RequestPriority.LIST, order));
+            awaitQueueDepth(gate, 1);
+            Future<?> read = executor.submit(() -> admitAndRecord(gate, RequestPriority.READ, order));
+            awaitQueueDepth(gate, 2);
+            Future<?> write = executor.submit(() -> admitAndRecord(gate, RequestPriority.WRITE, order));
+            awaitQueueDepth(gate, 3);
+
+            gate.release();
+            list.get(5, TimeUnit.SECONDS);
+            read.get(5, TimeUnit.SECONDS);
+            write.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of(RequestPriority.WRITE, RequestPriority.READ, RequestPriority.LIST), order);
+    }
+
+    @Test
+    void fullQueueRejectsOrDisplacesLowerPriority() throws Exception {
+        AdmissionGate gate = new AdmissionGate(1, 1);
+        gate.acquire(RequestPriority.READ, 1, TimeUnit.SECONDS);
+
+        CountDownLatch queued = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AdmissionGate.Outcome> list = executor.submit(() -> {
+                queued.countDown();
+                return gate.acquire(RequestPriority.LIST, 5, TimeUnit.SECONDS);
+            });
+            queued.await();
+            awaitQueueDepth(gate, 1);
+
+            assertEquals(AdmissionGate.Outcome.QUEUE_FULL, gate.acquire(RequestPriority.LIST, 1, TimeUnit.SECONDS));
+            // A write takes the list read's place in the queue and then times out itself
+            assertEquals(AdmissionGate.Outcome.TIMED_OUT, gate.acquire(RequestPriority.WRITE, 50, TimeUnit.MILLISECONDS));
+            assertEquals(AdmissionGate.Outcome.QUEUE_FULL, list.get(5, TimeUnit.SECONDS));
+            assertEquals(0, gate.queueDepth());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void zeroQueueRejectsWhenAllPermitsAreTaken() throws Exception {
+        AdmissionGate gate = new AdmissionGate(1, 0);
+        assertEquals(AdmissionGate.Outcome.ADMITTED, gate.acquire(RequestPriority.READ, 1, TimeUnit.SECONDS));
+        assertEquals(AdmissionGate.Outcome.QUEUE_FULL, gate.acquire(RequestPriority.WRITE, 1, TimeUnit.SECONDS));
+        gate.release();
+        assertEquals(AdmissionGate.Outcome.ADMITTED, gate.acquire(RequestPriority.LIST, 1, TimeUnit.SECONDS));
+    }
+
+    private static void admitAndRecord(AdmissionGate gate, RequestPriority priority, List<RequestPriority> order) {
+        try {
+            if (gate.acquire(priority, 5, TimeUnit.SECONDS) == AdmissionGate.Outcome.ADMITTED) {
+                order.add(priority);
+                gate.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQueueDepth(AdmissionGate gate, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gate.queueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, gate.queueDepth());
+    }
+}
@@ -0,0 +1,110 @@
+package com.commit.commit.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The same routing under JpaTransactionManager, which the application uses. Hibernate touches
+ * the connection while beginning a transaction, before the read-only flag is published, so
+ * this checks that the lazy proxy still defers the choice to the first statement.
+ */
+class ReadWriteRoutingJpaTest {
+
+    private final AtomicReference<Long> currentUser = new AtomicReference<>();
+    private ReadWriteRoutingDataSource routing;
+    private LocalContainerEntityManagerFactoryBean factory;
+    private EntityManager entityManager;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadWriteRoutingDataSource(
+            database("primary"), List.of(database("replica")), Duration.ofMinutes(1), currentUser::get);
+
+        factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(new LazyConnectionDataSourceProxy(routing));
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan(ReadWriteRoutingJpaTest.class.getPackageName());
+        factory.setJpaPropertyMap(Map.of("hibernate.dialect", "org.hibernate.dialect.H2Dialect"));
+        factory.afterPropertiesSet();
+
+        EntityManagerFactory entityManagerFactory = factory.getObject();
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.destroy();
+    }
+
+    @Test
+    void readOnlyJpaTransactionsGoToReplica() {
+        currentUser.set(1L);
+        assertEquals("replica", readTx.execute(status -> whoAmI()));
+        assertEquals("primary", writeTx.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void writerReadsFromPrimaryAfterJpaWrite() {
+        currentUser.set(1L);
+        writeTx.executeWithoutResult(status -> touch());
+        assertEquals("primary", readTx.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void recordedWriteCoversUserCreatedBeforeItHadAnId() {
+        // Auto-registration: the insert runs before the request knows its user
+        currentUser.set(null);
+        writeTx.executeWithoutResult(status -> touch());
+
+        currentUser.set(7L);
+        assertEquals("replica", readTx.execute(status -> whoAmI()));
+
+        routing.recordWrite(7L);
+        assertEquals("primary", readTx.execute(status -> whoAmI()));
+    }
+
+    private String whoAmI() {
+        return (String) entityManager.createNativeQuery("SELECT name FROM whoami").getSingleResult();
+    }
+
+    private void touch() {
+        entityManager.createNativeQuery("UPDATE whoami SET name = name").executeUpdate();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:jpa-routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS whoami (name VARCHAR(16))");
+        jdbc.execute("DELETE FROM whoami");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
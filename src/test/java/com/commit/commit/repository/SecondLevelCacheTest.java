@@ -0,0 +1,80 @@
+package com.commit.commit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.User;
+import com.commit.commit.service.CommitmentService;
+import com.commit.commit.service.SpaceService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+class SecondLevelCacheTest extends ServiceTestSupport {
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private CommitmentService commitmentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void firebaseUidLookupIsServedFromCache() {
+        User user = createUser("cached");
+        userRepository.findByFirebaseUid(user.getFirebaseUid()).orElseThrow();
+
+        statistics.clear();
+        assertThat(userRepository.findByFirebaseUid(user.getFirebaseUid())).isPresent();
+        assertThat(userRepository.findById(user.getId())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void spaceIsServedFromCacheAndRefreshedAfterCounterUpdate() {
+        User creator = createUser("creator");
+        SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Cached", null));
+        SpaceResponse other = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Untouched", null));
+        spaceRepository.findById(space.id()).orElseThrow();
+        spaceRepository.findById(other.id()).orElseThrow();
+
+        statistics.clear();
+        spaceRepository.findById(space.id()).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // The counter update evicts only its own space, and the native approver insert must
+        // not wipe unrelated regions
+        commitmentService.createCommitment(creator.getId(), space.id(),
+            new CreateCommitmentRequest("Cached commitment", null, null, List.of(creator.getId())));
+        assertThat(spaceRepository.findById(space.id()).orElseThrow().getCommitmentCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(userRepository.findById(creator.getId())).isPresent();
+        assertThat(spaceRepository.findById(other.id())).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
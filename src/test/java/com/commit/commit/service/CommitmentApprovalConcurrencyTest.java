@@ -0,0 +1,172 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.dto.CommitmentResponse;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.ApproverStatus;
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.entity.Space;
+import com.commit.commit.entity.User;
+import com.commit.commit.entity.UserSpace;
+import com.commit.commit.exception.InvalidStateException;
+import com.commit.commit.repository.CommitmentApproverRepository;
+import com.commit.commit.repository.CommitmentEventRepository;
+import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.SpaceRepository;
+import com.commit.commit.repository.UserSpaceRepository;
+
+class CommitmentApprovalConcurrencyTest extends ServiceTestSupport {
+
+    private static final int APPROVERS = 24;
+    private static final int RACE_APPROVERS = 6;
+    private static final int RACE_ROUNDS = 20;
+
+    @Autowired
+    private CommitmentService commitmentService;
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserSpaceRepository userSpaceRepository;
+
+    @Autowired
+    private CommitmentRepository commitmentRepository;
+
+    @Autowired
+    private CommitmentApproverRepository approverRepository;
+
+    @Autowired
+    private CommitmentEventRepository eventRepository;
+
+    @Test
+    void parallelApprovalsLockExactlyOnce() throws Exception {
+        User creator = createUser("creator");
+        SpaceResponse spaceResponse = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Team", null));
+        Space space = spaceRepository.findById(spaceResponse.id()).orElseThrow();
+
+        List<Long> approverIds = new ArrayList<>();
+        for (int i = 0; i < APPROVERS - 1; i++) {
+            User approver = createUser("approver" + i);
+            addMember(approver, space);
+            approverIds.add(approver.getId());
+        }
+
+        CommitmentResponse created = commitmentService.createCommitment(creator.getId(), space.getId(),
+            new CreateCommitmentRequest("Ship it", null, LocalDate.now().plusDays(7), approverIds));
+        commitmentService.sendForReview(creator.getId(), created.id());
+
+        List<Long> allApprovers = new ArrayList<>(approverIds);
+        allApprovers.add(creator.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(APPROVERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CommitmentResponse>> results = new ArrayList<>();
+        for (Long approverId : allApprovers) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return commitmentService.approve(approverId, created.id());
+            }));
+        }
+        start.countDown();
+        for (Future<CommitmentResponse> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Commitment commitment = commitmentRepository.findById(created.id()).orElseThrow();
+        assertThat(commitment.getStatus()).isEqualTo(CommitmentStatus.LOCKED);
+        assertThat(commitment.getPendingApprovals()).isZero();
+        assertThat(commitment.getApprovedCount()).isEqualTo(APPROVERS);
+
+        List<String> events = eventRepository.findByCommitmentIdOrderByCreatedAtAsc(created.id()).stream()
+            .map(e -> e.getEventType())
+            .toList();
+        assertThat(events).filteredOn("APPROVED"::equals).hasSize(APPROVERS);
+        assertThat(events).filteredOn("LOCKED"::equals).hasSize(1);
+    }
+
+    @Test
+    void approvalsRacingARejectionNeverDeadlock() throws Exception {
+        User creator = createUser("creator");
+        SpaceResponse spaceResponse = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Team", null));
+        Space space = spaceRepository.findById(spaceResponse.id()).orElseThrow();
+
+        List<Long> approverIds = new ArrayList<>();
+        for (int i = 0; i < RACE_APPROVERS; i++) {
+            User approver = createUser("approver" + i);
+            addMember(approver, space);
+            approverIds.add(approver.getId());
+        }
+        Long rejecterId = approverIds.get(0);
+
+        CommitmentResponse created = commitmentService.createCommitment(creator.getId(), space.getId(),
+            new CreateCommitmentRequest("Ship it", null, LocalDate.now().plusDays(7), approverIds));
+
+        ExecutorService executor = Executors.newFixedThreadPool(RACE_APPROVERS);
+        for (int round = 0; round < RACE_ROUNDS; round++) {
+            commitmentService.sendForReview(creator.getId(), created.id());
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CommitmentResponse>> results = new ArrayList<>();
+            for (Long approverId : approverIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return approverId.equals(rejecterId)
+                        ? commitmentService.reject(approverId, created.id())
+                        : commitmentService.approve(approverId, created.id());
+                }));
+            }
+            start.countDown();
+            for (Future<CommitmentResponse> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    // Approvals that land after the rejection find the commitment back in DRAFT
+                    assertThat(e.getCause()).isInstanceOf(InvalidStateException.class);
+                }
+            }
+
+            // The rejecter never approves, so every round ends rejected whatever the interleaving
+            Commitment commitment = commitmentRepository.findById(created.id()).orElseThrow();
+            assertThat(commitment.getStatus()).isEqualTo(CommitmentStatus.DRAFT);
+            assertThat(commitment.getApprovedCount()).isZero();
+            assertThat(commitment.getPendingApprovals()).isEqualTo(RACE_APPROVERS + 1);
+            assertThat(approverRepository.findByCommitmentId(created.id()))
+                .allMatch(a -> a.getStatus() == ApproverStatus.PENDING);
+        }
+        executor.shutdown();
+    }
+
+    private void addMember(User user, Space space) {
+        UserSpace membership = new UserSpace();
+        membership.setUser(user);
+        membership.setSpace(space);
+        membership.setStatus(MembershipStatus.APPROVED);
+        membership.setJoinedAt(OffsetDateTime.now());
+        userSpaceRepository.save(membership);
+    }
+}
@@ -0,0 +1,109 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.dto.CommitmentChangesResponse;
+import com.commit.commit.dto.CommitmentResponse;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.CommitmentEventRepository;
+
+class CommitmentChangesTest extends ServiceTestSupport {
+
+    @Autowired
+    private CommitmentService commitmentService;
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private CommitmentEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User creator;
+    private Long spaceId;
+    // Three commitments, each with a single CREATED event, in event id order
+    private final List<Long> commitmentIds = new ArrayList<>();
+    private final List<Long> eventIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("changes");
+        spaceId = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Changes", null)).id();
+        for (int i = 0; i < 3; i++) {
+            CommitmentResponse created = commitmentService.createCommitment(creator.getId(), spaceId,
+                new CreateCommitmentRequest("Change " + i, null, null, List.of(creator.getId())));
+            commitmentIds.add(created.id());
+            eventIds.add(eventRepository.findByCommitmentIdOrderByCreatedAtAsc(created.id()).get(0).getId());
+        }
+    }
+
+    @Test
+    void unsettledEventsHoldBackTheHighWaterMark() {
+        CommitmentChangesResponse fresh = changes(0, 10);
+        assertThat(ids(fresh)).containsExactlyElementsOf(commitmentIds);
+        assertThat(fresh.highWaterMark()).isZero();
+        assertThat(fresh.hasMore()).isFalse();
+
+        settle(0, 1);
+        CommitmentChangesResponse partly = changes(0, 10);
+        assertThat(ids(partly)).containsExactlyElementsOf(commitmentIds);
+        assertThat(partly.highWaterMark()).isEqualTo(eventIds.get(1));
+
+        settle(2);
+        assertThat(changes(0, 10).highWaterMark()).isEqualTo(eventIds.get(2));
+    }
+
+    @Test
+    void truncatedPageAdvancesToItsLastChange() {
+        settle(0, 1, 2);
+
+        CommitmentChangesResponse first = changes(0, 2);
+        assertThat(ids(first)).containsExactly(commitmentIds.get(0), commitmentIds.get(1));
+        assertThat(first.highWaterMark()).isEqualTo(eventIds.get(1));
+        assertThat(first.hasMore()).isTrue();
+
+        CommitmentChangesResponse second = changes(first.highWaterMark(), 2);
+        assertThat(ids(second)).containsExactly(commitmentIds.get(2));
+        assertThat(second.highWaterMark()).isEqualTo(eventIds.get(2));
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void truncatedPageHeldAtSinceDoesNotAskForMore() {
+        CommitmentChangesResponse response = changes(0, 2);
+
+        assertThat(ids(response)).containsExactly(commitmentIds.get(0), commitmentIds.get(1));
+        assertThat(response.highWaterMark()).isZero();
+        assertThat(response.hasMore()).isFalse();
+    }
+
+    private CommitmentChangesResponse changes(long sinceEventId, int limit) {
+        return commitmentService.getSpaceChanges(creator.getId(), spaceId, sinceEventId, limit);
+    }
+
+    // Backdates events past SETTLE_TIME, as if they had committed a while ago
+    private void settle(int... indexes) {
+        OffsetDateTime settledAt = OffsetDateTime.now().minus(CommitmentEventAppender.SETTLE_TIME).minusMinutes(1);
+        for (int index : indexes) {
+            jdbcTemplate.update("UPDATE commitment_events SET created_at = ? WHERE id = ?", settledAt, eventIds.get(index));
+        }
+    }
+
+    private static List<Long> ids(CommitmentChangesResponse response) {
+        return response.commitments().stream().map(CommitmentResponse::id).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+class CommitmentImportReaderTest {
+
+    @Test
+    void readsNdjsonLineByLineAndReportsBadLines() throws IOException {
+        String ndjson = "{\"title\":\"A\",\"deadline\":\"2026-03-01\",\"approverIds\":[2]}\n"
+            + "\r\n"
+            + "{not json\n"
+            + "{\"title\":\"" + "x".repeat(CommitmentImportReader.MAX_LINE_CHARS) + "\"}\n"
+            + "{\"title\":\"B\",\"approverIds\":[]}";
+
+        List<CommitmentImportReader.Row> rows = readAll(CommitmentImportReader.ndjson(stream(ndjson),
+            new ObjectMapper().registerModule(new JavaTimeModule())));
+
+        assertThat(rows).extracting(CommitmentImportReader.Row::line).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(rows.get(0).request().deadline()).isEqualTo(LocalDate.of(2026, 3, 1));
+        assertThat(rows.get(1).error()).startsWith("Invalid JSON");
+        assertThat(rows.get(2).error()).startsWith("Line longer than");
+        assertThat(rows.get(3).request().title()).isEqualTo("B");
+    }
+
+    @Test
+    void readsCsvWithQuotedMultilineFields() throws IOException {
+        String csv = "title,description,deadline,approverIds\n"
+            + "X,\"two\nlines, with comma\",2026-01-02,1;2\n"
+            + "Y,,not-a-date,1\n"
+            + "Z,,,\n";
+
+        List<CommitmentImportReader.Row> rows = readAll(CommitmentImportReader.csv(stream(csv)));
+
+        assertThat(rows).extracting(CommitmentImportReader.Row::line).containsExactly(2L, 4L, 5L);
+        assertThat(rows.get(0).request().description()).isEqualTo("two\nlines, with comma");
+        assertThat(rows.get(0).request().approverIds()).containsExactly(1L, 2L);
+        assertThat(rows.get(1).error()).isEqualTo("Invalid deadline: not-a-date");
+        assertThat(rows.get(2).request().approverIds()).isEmpty();
+    }
+
+    @Test
+    void stopsAtMalformedCsv() throws IOException {
+        String csv = "title,approverIds\nA,1\n\"B,\"broken\nC,1\n";
+
+        List<CommitmentImportReader.Row> rows = readAll(CommitmentImportReader.csv(stream(csv)));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1).line()).isEqualTo(3L);
+        assertThat(rows.get(1).error()).startsWith("Malformed CSV");
+    }
+
+    private static List<CommitmentImportReader.Row> readAll(CommitmentImportReader reader) throws IOException {
+        List<CommitmentImportReader.Row> rows = new ArrayList<>();
+        try (reader) {
+            CommitmentImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,133 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.admission.AdmissionGate;
+import com.commit.commit.admission.RequestPriority;
+import com.commit.commit.dto.CommitmentImportResponse;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.InviteToSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.ApproverStatus;
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentApprover;
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.entity.User;
+import com.commit.commit.exception.ServerBusyException;
+import com.commit.commit.repository.CommitmentApproverRepository;
+import com.commit.commit.repository.CommitmentEventRepository;
+import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.SpaceRepository;
+
+@TestPropertySource(properties = "commitment-import.admission-wait=50ms")
+class CommitmentImportServiceTest extends ServiceTestSupport {
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private CommitmentRepository commitmentRepository;
+
+    @Autowired
+    private CommitmentApproverRepository approverRepository;
+
+    @Autowired
+    private CommitmentEventRepository eventRepository;
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private CommitmentImportService importService;
+
+    @Autowired
+    private AdmissionGate admissionGate;
+
+    @Test
+    void writesCommitmentsApproversEventsAndSpaceCount() throws IOException {
+        User creator = createUser("importer");
+        User member = createUser("member");
+        SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Import", null));
+        spaceService.inviteToSpace(creator.getId(), space.id(), new InviteToSpaceRequest(member.getEmail()));
+        spaceService.acceptInvite(member.getId(), spaceService.getPendingInvites(member.getId()).get(0).id());
+
+        // 1201 valid rows span three chunks, the last one partial
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 1201; i++) {
+            Long approver = i % 2 == 0 ? member.getId() : creator.getId();
+            body.append("{\"title\":\"Row ").append(i).append("\",\"approverIds\":[").append(approver).append("]}\n");
+        }
+        body.append("{\"title\":\"Outsider\",\"approverIds\":[").append(Long.MAX_VALUE).append("]}\n");
+
+        CommitmentImportResponse response = importService.importCommitments(creator.getId(), space.id(),
+            CommitmentImportService.NDJSON, new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.imported()).isEqualTo(1201);
+        assertThat(response.failed()).isEqualTo(1);
+        assertThat(response.errors()).extracting(error -> error.line()).containsExactly(1202L);
+
+        List<Commitment> commitments = commitmentRepository.findBySpaceId(space.id());
+        assertThat(commitments).hasSize(1201);
+        assertThat(spaceRepository.findById(space.id()).orElseThrow().getCommitmentCount()).isEqualTo(1201);
+
+        for (Commitment commitment : List.of(find(commitments, "Row 0"), find(commitments, "Row 1200"))) {
+            assertThat(commitment.getStatus()).isEqualTo(CommitmentStatus.DRAFT);
+            assertThat(commitment.getPendingApprovals()).isEqualTo(2);
+            assertThat(approverRepository.findByCommitmentIdWithUser(commitment.getId()))
+                .extracting(approver -> approver.getUser().getId())
+                .containsExactlyInAnyOrder(creator.getId(), member.getId());
+            assertThat(eventRepository.findByCommitmentIdOrderByCreatedAtAsc(commitment.getId()))
+                .extracting(event -> event.getEventType())
+                .containsExactly("CREATED");
+        }
+
+        // The creator listed as approver is not inserted twice
+        Commitment selfApproved = find(commitments, "Row 1");
+        assertThat(selfApproved.getPendingApprovals()).isEqualTo(1);
+        assertThat(approverRepository.findByCommitmentId(selfApproved.getId()))
+            .extracting(CommitmentApprover::getStatus)
+            .containsExactly(ApproverStatus.PENDING);
+    }
+
+    @Test
+    void takesItsOwnAdmissionPermits() throws Exception {
+        User creator = createUser("busy");
+        SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Busy", null));
+        String body = "{\"title\":\"Row\",\"approverIds\":[" + creator.getId() + "]}\n";
+
+        int held = 0;
+        while (admissionGate.acquire(RequestPriority.WRITE, 0, TimeUnit.NANOSECONDS) == AdmissionGate.Outcome.ADMITTED) {
+            held++;
+        }
+        try {
+            assertThatThrownBy(() -> importService.importCommitments(creator.getId(), space.id(),
+                CommitmentImportService.NDJSON, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(ServerBusyException.class);
+        } finally {
+            for (int i = 0; i < held; i++) {
+                admissionGate.release();
+            }
+        }
+
+        CommitmentImportResponse response = importService.importCommitments(creator.getId(), space.id(),
+            CommitmentImportService.NDJSON, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        assertThat(response.imported()).isEqualTo(1);
+        assertThat(admissionGate.inFlight()).isZero();
+    }
+
+    private Commitment find(List<Commitment> commitments, String title) {
+        return commitments.stream().filter(c -> c.getTitle().equals(title)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.entity.Space;
+import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.CommitmentText;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CommitmentSearchIndexTest {
+
+    private final CommitmentRepository repository = mock(CommitmentRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private CommitmentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CommitmentSearchIndex(repository, transactionManager, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void writeToAnotherSpaceDuringBuildKeepsTheBuild() {
+        when(repository.findTextBySpaceId(1L)).thenAnswer(invocation -> {
+            index.putAfterCommit(commitment(2L, 20L, "elsewhere"));
+            return List.of(text(10L, "budget review"));
+        });
+
+        assertThat(search(1L, "budget")).containsExactly(10L);
+        assertThat(search(1L, "budget")).containsExactly(10L);
+        verify(repository, times(1)).findTextBySpaceId(1L);
+    }
+
+    @Test
+    void writeToTheSameSpaceDuringBuildDiscardsTheBuild() {
+        when(repository.findTextBySpaceId(1L))
+            .thenAnswer(invocation -> {
+                index.putAfterCommit(commitment(1L, 11L, "budget plan"));
+                return List.of(text(10L, "budget review"));
+            })
+            .thenReturn(List.of(text(10L, "budget review"), text(11L, "budget plan")));
+
+        assertThat(search(1L, "budget")).containsExactly(10L);
+        assertThat(search(1L, "budget")).containsExactlyInAnyOrder(10L, 11L);
+        verify(repository, times(2)).findTextBySpaceId(1L);
+    }
+
+    @Test
+    void buildsReadFromThePrimary() {
+        when(repository.findTextBySpaceId(1L)).thenReturn(List.of());
+        search(1L, "budget");
+
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()
+            && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    private List<Long> search(Long spaceId, String query) {
+        return index.search(spaceId, query, EnumSet.allOf(CommitmentStatus.class), null, 10).stream()
+            .map(CommitmentTextIndex.Hit::id)
+            .toList();
+    }
+
+    private static CommitmentText text(Long id, String title) {
+        return new CommitmentText(id, CommitmentStatus.DRAFT, title, null);
+    }
+
+    private static Commitment commitment(Long spaceId, Long id, String title) {
+        Space space = new Space();
+        space.setId(spaceId);
+        Commitment commitment = new Commitment();
+        commitment.setId(id);
+        commitment.setSpace(space);
+        commitment.setStatus(CommitmentStatus.DRAFT);
+        commitment.setTitle(title);
+        return commitment;
+    }
+}
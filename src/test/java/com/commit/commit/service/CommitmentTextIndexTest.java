@@ -0,0 +1,64 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.commit.commit.entity.CommitmentStatus;
+import com.commit.commit.repository.CommitmentText;
+
+class CommitmentTextIndexTest {
+
+    private static final Set<CommitmentStatus> ALL = EnumSet.allOf(CommitmentStatus.class);
+
+    private final CommitmentTextIndex index = new CommitmentTextIndex(List.of(
+        new CommitmentText(1L, CommitmentStatus.DRAFT, "API contract", "Agree on the REST schema"),
+        new CommitmentText(2L, CommitmentStatus.LOCKED, "Database schema", "Tables for the API"),
+        new CommitmentText(3L, CommitmentStatus.REVIEW, "Release plan", "Ship the api-v2 branch"),
+        new CommitmentText(4L, CommitmentStatus.DRAFT, "Onboarding", null)
+    ));
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        assertThat(ids(index.search("api", ALL, null, 10))).startsWith(1L).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void requiresEveryTermAndMatchesTheLastAsPrefix() {
+        assertThat(ids(index.search("schema tab", ALL, null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("onboard", ALL, null, 10))).containsExactly(4L);
+        assertThat(index.search("schema missing", ALL, null, 10)).isEmpty();
+        assertThat(index.search("!!", ALL, null, 10)).isEmpty();
+    }
+
+    @Test
+    void filtersByStatus() {
+        assertThat(ids(index.search("api", EnumSet.of(CommitmentStatus.LOCKED), null, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void pagesAfterTheLastHit() {
+        List<CommitmentTextIndex.Hit> first = index.search("api", ALL, null, 2);
+        List<CommitmentTextIndex.Hit> rest = index.search("api", ALL, first.get(1), 2);
+
+        assertThat(first).hasSize(2);
+        assertThat(ids(rest)).hasSize(1).doesNotContainAnyElementsOf(ids(first));
+    }
+
+    @Test
+    void putReplacesTheIndexedText() {
+        index.put(new CommitmentText(1L, CommitmentStatus.REVIEW, "Pricing page", null));
+
+        assertThat(ids(index.search("api", ALL, null, 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(index.search("pricing", EnumSet.of(CommitmentStatus.REVIEW), null, 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    private static List<Long> ids(List<CommitmentTextIndex.Hit> hits) {
+        return hits.stream().map(CommitmentTextIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.dto.CommitmentResponse;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.CommitmentRepository;
+import com.commit.commit.repository.SpaceRepository;
+
+class CounterReconcilerTest extends ServiceTestSupport {
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private CommitmentService commitmentService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private CommitmentRepository commitmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rewritesOnlyDriftedCounters() {
+        User creator = createUser("counter");
+        SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Drifted", null));
+        CommitmentResponse commitment = commitmentService.createCommitment(creator.getId(), space.id(),
+            new CreateCommitmentRequest("Counted", null, null, List.of(creator.getId())));
+
+        // Settle whatever other tests left behind, then drift exactly one row of each table
+        reconcile();
+        jdbcTemplate.update("UPDATE spaces SET member_count = 7 WHERE id = ?", space.id());
+        jdbcTemplate.update("UPDATE commitments SET pending_approvals = 0 WHERE id = ?", commitment.id());
+
+        assertThat(reconcile()).containsExactly(1, 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT member_count FROM spaces WHERE id = ?", Integer.class, space.id()))
+            .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT pending_approvals FROM commitments WHERE id = ?", Integer.class,
+            commitment.id())).isEqualTo(1);
+        assertThat(reconcile()).containsExactly(0, 0);
+    }
+
+    // The reconciler's two statements; the bean itself only exists when enabled
+    private List<Integer> reconcile() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+            List.of(spaceRepository.reconcileCounters(), commitmentRepository.reconcileApprovalCounters()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DeadlineWheelTest {
+
+    private static final long START = 1_700_000_000L;
+
+    @Test
+    void firesEachTimerOnItsTickAcrossLevels() {
+        DeadlineWheel wheel = new DeadlineWheel(START);
+        long[] delays = {1, 63, 64, 65, 4095, 4096, 300_000, 20_000_000};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule(i, START + delays[i]);
+        }
+
+        for (int i = 0; i < delays.length; i++) {
+            assertThat(wheel.advanceTo(START + delays[i] - 1)).as("before timer %d", i).isEmpty();
+            assertThat(wheel.advanceTo(START + delays[i])).as("timer %d", i).containsExactly((long) i);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceEarlierTimers() {
+        DeadlineWheel wheel = new DeadlineWheel(START);
+        wheel.schedule(1, START + 10);
+        wheel.schedule(1, START + 5000);
+        wheel.schedule(2, START + 10);
+        wheel.cancel(2);
+
+        assertThat(wheel.advanceTo(START + 4999)).isEmpty();
+        assertThat(wheel.advanceTo(START + 5000)).containsExactly(1L);
+    }
+
+    @Test
+    void scheduleIfAbsentKeepsANewerTimer() {
+        DeadlineWheel wheel = new DeadlineWheel(START);
+        wheel.schedule(1, START + 1);
+        wheel.schedule(2, START + 1);
+        assertThat(wheel.advanceTo(START + 1)).containsExactlyInAnyOrder(1L, 2L);
+
+        // 1 was moved by a commit while its announcement failed; 2 was not
+        wheel.schedule(1, START + 500);
+        wheel.scheduleIfAbsent(1, START + 30);
+        wheel.scheduleIfAbsent(2, START + 30);
+
+        assertThat(wheel.advanceTo(START + 30)).containsExactly(2L);
+        assertThat(wheel.advanceTo(START + 499)).isEmpty();
+        assertThat(wheel.advanceTo(START + 500)).containsExactly(1L);
+    }
+
+    @Test
+    void firesPastTimersOnTheNextAdvance() {
+        DeadlineWheel wheel = new DeadlineWheel(START);
+        wheel.schedule(1, START - 100);
+        wheel.schedule(2, START);
+
+        assertThat(wheel.advanceTo(START)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void parksTimersBeyondTheTopLevelUntilTheyComeInRange() {
+        DeadlineWheel wheel = new DeadlineWheel(0);
+        long far = (1L << 36) + 12345;
+        wheel.schedule(7, far);
+
+        List<Long> fired = new ArrayList<>();
+        for (long tick = 1L << 30; tick <= far; tick += 1L << 30) {
+            fired.addAll(wheel.advanceTo(Math.min(tick, far - 1)));
+        }
+        assertThat(fired).isEmpty();
+        assertThat(wheel.advanceTo(far)).containsExactly(7L);
+    }
+}
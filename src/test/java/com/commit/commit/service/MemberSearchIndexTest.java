@@ -0,0 +1,74 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.commit.commit.dto.UserResponse;
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.entity.User;
+import com.commit.commit.entity.UserSpace;
+import com.commit.commit.repository.UserSpaceRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MemberSearchIndexTest {
+
+    private final UserSpaceRepository repository = mock(UserSpaceRepository.class);
+    private MemberSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MemberSearchIndex(repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void writeToAnotherSpaceDuringBuildKeepsTheBuild() {
+        when(repository.findBySpaceIdAndStatusWithUser(1L, MembershipStatus.APPROVED)).thenAnswer(invocation -> {
+            index.removeAfterCommit(2L, 99L);
+            return List.of(member(10L, "Alice"));
+        });
+
+        assertThat(search(1L, "ali")).containsExactly(10L);
+        assertThat(search(1L, "ali")).containsExactly(10L);
+        verify(repository, times(1)).findBySpaceIdAndStatusWithUser(1L, MembershipStatus.APPROVED);
+    }
+
+    @Test
+    void writeToTheSameSpaceDuringBuildDiscardsTheBuild() {
+        when(repository.findBySpaceIdAndStatusWithUser(1L, MembershipStatus.APPROVED))
+            .thenAnswer(invocation -> {
+                index.addAfterCommit(1L, member(11L, "Alina").getUser());
+                return List.of(member(10L, "Alice"));
+            })
+            .thenReturn(List.of(member(10L, "Alice"), member(11L, "Alina")));
+
+        assertThat(search(1L, "ali")).containsExactly(10L);
+        assertThat(search(1L, "ali")).containsExactlyInAnyOrder(10L, 11L);
+        verify(repository, times(2)).findBySpaceIdAndStatusWithUser(1L, MembershipStatus.APPROVED);
+    }
+
+    private List<Long> search(Long spaceId, String query) {
+        return index.search(spaceId, query, 10).stream().map(UserResponse::id).toList();
+    }
+
+    private static UserSpace member(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@example.com");
+        UserSpace membership = new UserSpace();
+        membership.setUser(user);
+        membership.setStatus(MembershipStatus.APPROVED);
+        return membership;
+    }
+}
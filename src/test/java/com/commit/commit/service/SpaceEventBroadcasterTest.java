@@ -0,0 +1,278 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitterReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.commit.commit.entity.Commitment;
+import com.commit.commit.entity.CommitmentEvent;
+import com.commit.commit.entity.Space;
+import com.commit.commit.entity.User;
+import com.commit.commit.repository.CommitmentEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+class SpaceEventBroadcasterTest {
+
+    private static final Long SPACE = 1L;
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private final CommitmentEventRepository repository = mock(CommitmentEventRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MeterRegistry meterRegistry;
+    private final ResponseBodyEmitterReturnValueHandler handler = new ResponseBodyEmitterReturnValueHandler(
+        List.of(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter(objectMapper)));
+    private SpaceEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = broadcaster(3, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void liveEventsDuringReplayFollowItWithoutDuplicates() throws Exception {
+        OffsetDateTime lastSeenAt = OffsetDateTime.now().minusMinutes(1);
+        when(repository.findCreatedAtById(5L)).thenReturn(Optional.of(lastSeenAt));
+        // 7 and 8 commit while the replay query runs; the query sees 7 but not 8
+        when(repository.findForReplay(eq(SPACE), eq(5L), eq(lastSeenAt.minus(CommitmentEventAppender.SETTLE_TIME)), any()))
+            .thenAnswer(invocation -> {
+                broadcaster.publish(List.of(event(7L), event(8L)));
+                return List.of(event(4L), event(6L), event(7L));
+            });
+
+        Stream stream = open(10L, 5L);
+
+        await(() -> stream.ids().size() == 4);
+        broadcaster.publish(List.of(event(9L)));
+        await(() -> stream.ids().size() == 5);
+        assertThat(stream.ids()).containsExactly(4L, 6L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void replayOverTheLimitSendsResetInstead() throws Exception {
+        when(repository.findCreatedAtById(5L)).thenReturn(Optional.empty());
+        when(repository.findForReplay(eq(SPACE), eq(5L), any(), any()))
+            .thenReturn(List.of(event(6L), event(7L), event(8L), event(9L)));
+
+        Stream stream = open(10L, 5L);
+        broadcaster.publish(List.of(event(10L)));
+
+        await(() -> stream.ids().contains(10L));
+        assertThat(stream.content()).contains("event:reset");
+        assertThat(stream.ids()).containsExactly(10L);
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsClosed() throws Exception {
+        broadcaster.shutdown();
+        broadcaster = broadcaster(2, 2);
+        Stream slow = open(10L, null);
+        Stream fast = open(11L, null);
+        slow.blockWrites();
+
+        // The slow writer holds at most one event and its queue two more, so the fourth overflows
+        for (long id = 1; id <= 4; id++) {
+            broadcaster.publish(List.of(event(id)));
+            long sent = id;
+            await(() -> fast.ids().contains(sent));
+        }
+
+        assertThat(meterRegistry.counter("space.events.overflowed").count()).isEqualTo(1);
+        slow.unblockWrites();
+        await(slow::completed);
+        assertThat(slow.ids()).doesNotContain(4L);
+        assertThat(fast.completed()).isFalse();
+        assertThat(meterRegistry.get("space.events.subscribers").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void leavingClosesThatMembersStreamsOnceCommitted() throws Exception {
+        Stream leaving = open(10L, null);
+        Stream staying = open(11L, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            broadcaster.disconnectAfterCommit(10L, SPACE);
+            broadcaster.publish(List.of(event(1L)));
+            await(() -> leaving.ids().contains(1L));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        await(leaving::completed);
+        broadcaster.publish(List.of(event(2L)));
+        await(() -> staying.ids().contains(2L));
+        assertThat(leaving.ids()).containsExactly(1L);
+        assertThat(staying.completed()).isFalse();
+    }
+
+    private SpaceEventBroadcaster broadcaster(int replayLimit, int queueCapacity) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new SpaceEventBroadcaster(repository, objectMapper, mock(PlatformTransactionManager.class), meterRegistry,
+            Duration.ofMinutes(1), Duration.ofHours(1), replayLimit, queueCapacity, 2);
+    }
+
+    private Stream open(Long userId, Long lastEventId) throws Exception {
+        SseEmitter emitter = broadcaster.subscribe(userId, SPACE, lastEventId);
+        Stream stream = new Stream();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        ServletWebRequest webRequest = new ServletWebRequest(request, stream.response);
+        stream.asyncManager = WebAsyncUtils.getAsyncManager(webRequest);
+        stream.asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, stream.response));
+        MethodParameter returnType = new MethodParameter(
+            SpaceEventBroadcaster.class.getMethod("subscribe", Long.class, Long.class, Long.class), -1);
+        handler.handleReturnValue(emitter, returnType, new ModelAndViewContainer(), webRequest);
+        return stream;
+    }
+
+    private CommitmentEvent event(Long id) {
+        Space space = new Space();
+        space.setId(SPACE);
+        Commitment commitment = new Commitment();
+        commitment.setId(100 + id);
+        commitment.setSpace(space);
+        User actor = new User();
+        actor.setId(50L);
+        actor.setName("Actor");
+        CommitmentEvent event = new CommitmentEvent();
+        event.setId(id);
+        event.setCommitment(commitment);
+        event.setActor(actor);
+        event.setEventType("CREATED");
+        event.setCreatedAt(OffsetDateTime.now());
+        return event;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /** A client connection whose writes can be held up, as when the client stops reading. */
+    private static final class Stream {
+        final MockHttpServletResponse raw = new MockHttpServletResponse();
+        volatile CountDownLatch writable = new CountDownLatch(0);
+        final HttpServletResponseWrapper response = new HttpServletResponseWrapper(raw) {
+            @Override
+            public ServletOutputStream getOutputStream() throws IOException {
+                ServletOutputStream out = raw.getOutputStream();
+                return new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        awaitWritable();
+                        out.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        awaitWritable();
+                        out.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        out.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                    }
+                };
+            }
+        };
+        WebAsyncManager asyncManager;
+
+        void blockWrites() {
+            writable = new CountDownLatch(1);
+        }
+
+        void unblockWrites() {
+            writable.countDown();
+        }
+
+        private void awaitWritable() throws IOException {
+            try {
+                writable.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+
+        String content() {
+            try {
+                return raw.getContentAsString(StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        List<Long> ids() {
+            List<Long> ids = new ArrayList<>();
+            Matcher matcher = EVENT_ID.matcher(content());
+            while (matcher.find()) {
+                ids.add(Long.valueOf(matcher.group(1)));
+            }
+            return ids;
+        }
+
+        boolean completed() {
+            return asyncManager.hasConcurrentResult();
+        }
+    }
+}
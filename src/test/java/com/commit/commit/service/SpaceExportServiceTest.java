@@ -0,0 +1,114 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.admission.AdmissionGate;
+import com.commit.commit.admission.RequestPriority;
+import com.commit.commit.dto.CommitmentResponse;
+import com.commit.commit.dto.CreateCommitmentRequest;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@TestPropertySource(properties = {"space-export.page-size=2", "space-export.admission-wait=50ms"})
+class SpaceExportServiceTest extends ServiceTestSupport {
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private CommitmentService commitmentService;
+
+    @Autowired
+    private SpaceExportService exportService;
+
+    @Autowired
+    private AdmissionGate admissionGate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsEveryCommitmentAndEventAcrossPages() throws IOException {
+        User creator = createUser("exporter");
+        SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Audit", null));
+        for (int i = 0; i < 5; i++) {
+            commitmentService.createCommitment(creator.getId(), space.id(),
+                new CreateCommitmentRequest("Commitment " + i, null, null, List.of(creator.getId())));
+        }
+        CommitmentResponse locked = commitmentService.createCommitment(creator.getId(), space.id(),
+            new CreateCommitmentRequest("Locked", null, null, List.of(creator.getId())));
+        commitmentService.sendForReview(creator.getId(), locked.id());
+        commitmentService.approve(creator.getId(), locked.id());
+
+        List<JsonNode> lines = export(creator.getId(), space.id(), true);
+
+        assertThat(lines).extracting(line -> line.get("type").asText())
+            .containsExactly("space", "commitment", "commitment", "commitment", "commitment", "commitment",
+                "commitment", "event", "event", "event", "event", "event", "event", "event", "event", "event", "end");
+        JsonNode lockedLine = lines.get(6);
+        assertThat(lockedLine.get("status").asText()).isEqualTo("LOCKED");
+        assertThat(lockedLine.get("approvers").get(0).get("status").asText()).isEqualTo("APPROVED");
+        assertThat(lines.get(lines.size() - 1).get("events").asLong()).isEqualTo(9);
+        assertThat(admissionGate.inFlight()).isZero();
+    }
+
+    @Test
+    void abortsWhenNoAdmissionPermitFreesUp() throws Exception {
+        User creator = createUser("busy");
+        SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Busy", null));
+        int held = 0;
+        while (admissionGate.acquire(RequestPriority.LIST, 0, TimeUnit.NANOSECONDS) == AdmissionGate.Outcome.ADMITTED) {
+            held++;
+        }
+        try {
+            assertThatThrownBy(() -> export(creator.getId(), space.id(), false)).isInstanceOf(IOException.class);
+        } finally {
+            for (int i = 0; i < held; i++) {
+                admissionGate.release();
+            }
+        }
+    }
+
+    @Test
+    void gzipNegotiationHonoursQValues() {
+        assertThat(SpaceExportService.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(SpaceExportService.acceptsGzip("deflate, gzip;q=0.5")).isTrue();
+        assertThat(SpaceExportService.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(SpaceExportService.acceptsGzip("gzip;q=0.000, *")).isFalse();
+        assertThat(SpaceExportService.acceptsGzip("*;q=1")).isTrue();
+        assertThat(SpaceExportService.acceptsGzip("identity")).isFalse();
+        assertThat(SpaceExportService.acceptsGzip(null)).isFalse();
+    }
+
+    private List<JsonNode> export(Long userId, Long spaceId, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportSpace(userId, spaceId, gzip).writeTo(out);
+        byte[] bytes = gzip ? new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes() : out.toByteArray();
+        return new String(bytes, StandardCharsets.UTF_8).lines()
+            .map(line -> {
+                try {
+                    return objectMapper.readTree(line);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .toList();
+    }
+}
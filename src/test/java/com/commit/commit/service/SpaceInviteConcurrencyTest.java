@@ -0,0 +1,87 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.commit.commit.ServiceTestSupport;
+import com.commit.commit.dto.CreateSpaceRequest;
+import com.commit.commit.dto.InviteToSpaceRequest;
+import com.commit.commit.dto.SpaceResponse;
+import com.commit.commit.entity.MembershipStatus;
+import com.commit.commit.entity.User;
+import com.commit.commit.exception.InvalidStateException;
+import com.commit.commit.repository.SpaceRepository;
+import com.commit.commit.repository.UserSpaceRepository;
+
+class SpaceInviteConcurrencyTest extends ServiceTestSupport {
+
+    private static final int RACERS = 6;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserSpaceRepository userSpaceRepository;
+
+    @Test
+    void racingAcceptsAndRejectsSettleTheInviteOnce() throws Exception {
+        User creator = createUser("host");
+        ExecutorService executor = Executors.newFixedThreadPool(RACERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                SpaceResponse space = spaceService.createSpace(creator.getId(), new CreateSpaceRequest("Race " + round, null));
+                User invitee = createUser("guest" + round);
+                spaceService.inviteToSpace(creator.getId(), space.id(), new InviteToSpaceRequest(invitee.getEmail()));
+                Long inviteId = spaceService.getPendingInvites(invitee.getId()).get(0).id();
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < RACERS; i++) {
+                    boolean accept = i % 3 != 0;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        if (accept) {
+                            spaceService.acceptInvite(invitee.getId(), inviteId);
+                        } else {
+                            spaceService.rejectInvite(invitee.getId(), inviteId);
+                        }
+                        return accept;
+                    }));
+                }
+                start.countDown();
+
+                List<Boolean> winners = new ArrayList<>();
+                for (Future<Boolean> result : results) {
+                    try {
+                        winners.add(result.get(30, TimeUnit.SECONDS));
+                    } catch (ExecutionException e) {
+                        assertThat(e.getCause()).isInstanceOf(InvalidStateException.class);
+                    }
+                }
+
+                assertThat(winners).as("round %d", round).hasSize(1);
+                MembershipStatus expected = winners.get(0) ? MembershipStatus.APPROVED : MembershipStatus.REJECTED;
+                assertThat(userSpaceRepository.findStatusByUserIdAndSpaceId(invitee.getId(), space.id())).contains(expected);
+                int expectedMembers = winners.get(0) ? 2 : 1;
+                assertThat(spaceRepository.findById(space.id()).orElseThrow().getMemberCount()).isEqualTo(expectedMembers);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.commit.commit.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.commit.commit.dto.UserResponse;
+
+class SpaceMemberIndexTest {
+
+    private final SpaceMemberIndex index = new SpaceMemberIndex(List.of(
+        new UserResponse(1L, "Anna Lee", "anna@example.com"),
+        new UserResponse(2L, "Joanna Smith", "jsmith@example.com"),
+        new UserResponse(3L, "Ann", "ann.k@example.com"),
+        new UserResponse(4L, "Bob Annersley", "bob@example.com"),
+        new UserResponse(5L, "Carl", "carl@hannah.org")
+    ));
+
+    @Test
+    void ranksExactThenPrefixThenWordThenInfix() {
+        assertThat(ids(index.search("ann", 10))).containsExactly(3L, 1L, 4L, 2L, 5L);
+    }
+
+    @Test
+    void matchesCaseInsensitivelyAcrossNameAndEmail() {
+        assertThat(ids(index.search("  JSMITH@", 10))).containsExactly(2L);
+        assertThat(ids(index.search("hannah", 10))).containsExactly(5L);
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void appliesLimitAfterRanking() {
+        assertThat(ids(index.search("a", 2))).containsExactly(3L, 1L);
+        assertThat(ids(index.search("", 3))).hasSize(3);
+    }
+
+    @Test
+    void reflectsMembershipChanges() {
+        index.remove(3L);
+        index.add(new UserResponse(6L, "Annika", "annika@example.com"));
+        assertThat(ids(index.search("ann", 2))).containsExactly(6L, 1L);
+
+        // Removing most members compacts the index without losing the rest
+        for (long id = 100; id < 140; id++) {
+            index.add(new UserResponse(id, "Temp " + id, "temp" + id + "@example.com"));
+        }
+        for (long id = 100; id < 140; id++) {
+            index.remove(id);
+        }
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(ids(index.search("temp", 10))).isEmpty();
+        assertThat(ids(index.search("joanna", 10))).containsExactly(2L);
+    }
+
+    private static List<Long> ids(List<UserResponse> users) {
+        List<Long> ids = new ArrayList<>();
+        users.forEach(u -> ids.add(u.id()));
+        return ids;
+    }
+}